@@ -0,0 +1,122 @@
+package cn.gjing.excel.base;
+
+import cn.gjing.excel.base.meta.ExcelColor;
+import lombok.Builder;
+import lombok.Getter;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+
+/**
+ * Key of a cell style in the {@link ExcelStyleRegistry}, cell styles with equal keys are created only once per workbook.
+ * the style attributes except the data format are packed into a single long
+ *
+ * @author Gjing
+ **/
+@Getter
+public final class ExcelStyleKey {
+    /**
+     * Solid fill color, null or {@link ExcelColor#NONE} is not filled
+     */
+    private final ExcelColor fillColor;
+
+    /**
+     * Font color, the default font is used if the font color is null, not bold and the font height is not set
+     */
+    private final ExcelColor fontColor;
+
+    /**
+     * Whether the font is bold
+     */
+    private final boolean bold;
+
+    /**
+     * Font height, less than 1 is the default height
+     */
+    private final short fontHeight;
+
+    /**
+     * Color of the thin borders on all sides, null has no border
+     */
+    private final ExcelColor borderColor;
+
+    /**
+     * Horizontal alignment, null is the default alignment
+     */
+    private final HorizontalAlignment alignment;
+
+    /**
+     * Vertical alignment, null is the default alignment
+     */
+    private final VerticalAlignment verticalAlignment;
+
+    /**
+     * Whether to wrap the text
+     */
+    private final boolean wrapText;
+
+    /**
+     * Whether the cells are left unlocked when the sheet is protected
+     */
+    private final boolean unlocked;
+
+    /**
+     * Data format, empty is the general format
+     */
+    private final String format;
+
+    private final long bits;
+
+    @Builder
+    private ExcelStyleKey(ExcelColor fillColor, ExcelColor fontColor, boolean bold, short fontHeight, ExcelColor borderColor,
+                          HorizontalAlignment alignment, VerticalAlignment verticalAlignment, boolean wrapText, boolean unlocked, String format) {
+        this.fillColor = fillColor == ExcelColor.NONE ? null : fillColor;
+        this.fontColor = fontColor;
+        this.bold = bold;
+        this.fontHeight = fontHeight < 1 ? 0 : fontHeight;
+        this.borderColor = borderColor;
+        this.alignment = alignment;
+        this.verticalAlignment = verticalAlignment;
+        this.wrapText = wrapText;
+        this.unlocked = unlocked;
+        this.format = format == null ? "" : format;
+        this.bits = ordinal(this.fillColor)
+                | ordinal(this.fontColor) << 8
+                | ordinal(this.borderColor) << 16
+                | ordinal(this.alignment) << 24
+                | ordinal(this.verticalAlignment) << 28
+                | (long) (this.fontHeight & 0xFFFF) << 32
+                | (this.bold ? 1L : 0L) << 48
+                | (this.wrapText ? 1L : 0L) << 49
+                | (this.unlocked ? 1L : 0L) << 50;
+    }
+
+    /**
+     * Whether the style uses its own font
+     *
+     * @return true if a font is set
+     */
+    public boolean hasFont() {
+        return this.fontColor != null || this.bold || this.fontHeight > 0;
+    }
+
+    private static long ordinal(Enum<?> e) {
+        return e == null ? 0L : e.ordinal() + 1L;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ExcelStyleKey)) {
+            return false;
+        }
+        ExcelStyleKey other = (ExcelStyleKey) o;
+        return this.bits == other.bits && this.format.equals(other.format);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(this.bits) + this.format.hashCode();
+    }
+}
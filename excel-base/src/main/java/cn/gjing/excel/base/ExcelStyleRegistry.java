@@ -0,0 +1,129 @@
+package cn.gjing.excel.base;
+
+import lombok.Getter;
+import org.apache.poi.ss.usermodel.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cell style registry of a workbook, shared by all style listeners and sheets of the workbook.
+ * cell styles, fonts and data formats with the same attributes are created only once,
+ * which keeps the workbook below its style limit and its style table small
+ *
+ * @author Gjing
+ **/
+public final class ExcelStyleRegistry {
+    /**
+     * Workbook to which the styles belong
+     */
+    @Getter
+    private final Workbook workbook;
+
+    private final Map<ExcelStyleKey, CellStyle> styles = new HashMap<>(32);
+
+    /**
+     * Font cache, key is the font color, bold and font height packed into an int
+     */
+    private final Map<Integer, Font> fonts = new HashMap<>(16);
+
+    private final Map<String, Short> dataFormats = new HashMap<>(16);
+
+    private DataFormat dataFormat;
+
+    public ExcelStyleRegistry(Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    /**
+     * Get the cell style of the key, created if absent
+     *
+     * @param key Style key
+     * @return CellStyle
+     */
+    public CellStyle getStyle(ExcelStyleKey key) {
+        CellStyle cellStyle = this.styles.get(key);
+        if (cellStyle == null) {
+            cellStyle = this.createStyle(key);
+            this.styles.put(key, cellStyle);
+        }
+        return cellStyle;
+    }
+
+    /**
+     * Get the font, created if absent
+     *
+     * @param key Style key holding the font attributes
+     * @return Font
+     */
+    public Font getFont(ExcelStyleKey key) {
+        int fontKey = (key.getFontColor() == null ? 0 : key.getFontColor().ordinal() + 1)
+                | (key.isBold() ? 1 : 0) << 8
+                | (key.getFontHeight() & 0xFFFF) << 16;
+        Font font = this.fonts.get(fontKey);
+        if (font == null) {
+            font = this.workbook.createFont();
+            if (key.getFontColor() != null) {
+                font.setColor(key.getFontColor().index);
+            }
+            font.setBold(key.isBold());
+            if (key.getFontHeight() > 0) {
+                font.setFontHeight(key.getFontHeight());
+            }
+            this.fonts.put(fontKey, font);
+        }
+        return font;
+    }
+
+    /**
+     * Get the index of the data format, created if absent
+     *
+     * @param format Data format
+     * @return Data format index
+     */
+    public short getDataFormat(String format) {
+        Short index = this.dataFormats.get(format);
+        if (index == null) {
+            if (this.dataFormat == null) {
+                this.dataFormat = this.workbook.createDataFormat();
+            }
+            index = this.dataFormat.getFormat(format);
+            this.dataFormats.put(format, index);
+        }
+        return index;
+    }
+
+    private CellStyle createStyle(ExcelStyleKey key) {
+        CellStyle cellStyle = this.workbook.createCellStyle();
+        if (key.getFillColor() != null) {
+            cellStyle.setFillForegroundColor(key.getFillColor().index);
+            cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        }
+        if (key.hasFont()) {
+            cellStyle.setFont(this.getFont(key));
+        }
+        if (key.getBorderColor() != null) {
+            short color = key.getBorderColor().index;
+            cellStyle.setBorderBottom(BorderStyle.THIN);
+            cellStyle.setBottomBorderColor(color);
+            cellStyle.setBorderLeft(BorderStyle.THIN);
+            cellStyle.setLeftBorderColor(color);
+            cellStyle.setBorderRight(BorderStyle.THIN);
+            cellStyle.setRightBorderColor(color);
+            cellStyle.setBorderTop(BorderStyle.THIN);
+            cellStyle.setTopBorderColor(color);
+        }
+        if (key.getAlignment() != null) {
+            cellStyle.setAlignment(key.getAlignment());
+        }
+        if (key.getVerticalAlignment() != null) {
+            cellStyle.setVerticalAlignment(key.getVerticalAlignment());
+        }
+        cellStyle.setWrapText(key.isWrapText());
+        cellStyle.setLocked(!key.isUnlocked());
+        if (!key.getFormat().isEmpty()) {
+            cellStyle.setDataFormat(this.getDataFormat(key.getFormat()));
+        }
+        return cellStyle;
+    }
+}
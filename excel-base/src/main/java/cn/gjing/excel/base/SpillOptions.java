@@ -0,0 +1,39 @@
+package cn.gjing.excel.base;
+
+import lombok.*;
+
+/**
+ * Options of the temporary files to which the rows flushed out of the window are spilled when exporting xlsx
+ *
+ * @author Gjing
+ **/
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public final class SpillOptions {
+    /**
+     * Whether to compress the temporary files with gzip,
+     * which costs some CPU but writes much less to the disk
+     */
+    private boolean compress;
+
+    /**
+     * Directory of the temporary files, empty is the POI temporary directory (java.io.tmpdir by default).
+     * it is created if absent
+     */
+    @Builder.Default
+    private String tempDir = "";
+
+    /**
+     * The rows of a sheet are kept in memory instead of a temporary file
+     * if the row count hint of the sheet is below this threshold, until more rows than the threshold are written
+     * to the sheet. less than 1 is never
+     */
+    private int memoryRowThreshold;
+
+    public static SpillOptions of() {
+        return new SpillOptions();
+    }
+}
@@ -1,6 +1,8 @@
 package cn.gjing.excel.base.annotation;
 
 import cn.gjing.excel.base.meta.ExcelType;
+import cn.gjing.excel.base.meta.ReadEngine;
+import cn.gjing.excel.base.meta.WriteEngine;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -39,6 +41,47 @@ public @interface Excel {
      */
     int windowSize() default 500;
 
+    /**
+     * Whether to compress the temporary files of the rows flushed out of the window with gzip.
+     * only for xlsx
+     *
+     * @return default false
+     */
+    boolean compressTempFiles() default false;
+
+    /**
+     * Directory of the temporary files of the rows flushed out of the window,
+     * empty is the POI temporary directory. only for xlsx
+     *
+     * @return tempDir
+     */
+    String tempDir() default "";
+
+    /**
+     * The rows of a sheet are kept in memory instead of a temporary file if the row count hint
+     * of the sheet (the size of the written list by default) is below this threshold,
+     * they are moved into a temporary file once more rows than the threshold are written to the sheet.
+     * less than 1 is never. only for xlsx
+     *
+     * @return memoryRowThreshold
+     */
+    int memoryRowThreshold() default 0;
+
+    /**
+     * Deflate level of the entries of the exported file, from 0 (entries stored without compression) to 9,
+     * -1 is the default level. the low levels write the file much faster but larger. only for xlsx
+     *
+     * @return compressionLevel
+     */
+    int compressionLevel() default -1;
+
+    /**
+     * Engine used to write the file when exporting
+     *
+     * @return WriteEngine
+     */
+    WriteEngine writeEngine() default WriteEngine.USER_MODEL;
+
     /**
      * Number of rows loaded into memory at import time
      * only for xlsx
@@ -49,7 +92,7 @@ public @interface Excel {
 
     /**
      * Buffer size to use when reading InputStream to file,
-     * only for xlsx
+     * only for xlsx or the {@link ReadEngine#EVENT_MODEL} engine
      *
      * @return bufferSize
      */
@@ -90,4 +133,28 @@ public @interface Excel {
      * @return hyperlink
      */
     boolean hyperlink() default false;
+
+    /**
+     * Engine used to read the file when importing
+     *
+     * @return ReadEngine
+     */
+    ReadEngine readEngine() default ReadEngine.USER_MODEL;
+
+    /**
+     * Whether to spill the shared strings to a temporary file when importing,
+     * so that workbooks with huge amounts of string data do not hold them all in memory.
+     * only for xlsx
+     *
+     * @return default false
+     */
+    boolean sstTempFile() default false;
+
+    /**
+     * Number of decoded shared strings cached in memory when the shared strings are spilled to a temporary file,
+     * only for the {@link ReadEngine#EVENT_MODEL} engine, must not be negative
+     *
+     * @return sstCacheSize
+     */
+    int sstCacheSize() default 1024;
 }
@@ -1,5 +1,7 @@
 package cn.gjing.excel.base.annotation;
 
+import cn.gjing.excel.base.convert.ExcelFieldConverter;
+
 import java.lang.annotation.*;
 
 /**
@@ -23,4 +25,13 @@ public @interface ExcelDataConvert {
      * @return EL expression
      */
     String readExpr() default "";
+
+    /**
+     * Field value converter, takes precedence over the EL expressions if set.
+     * the default {@link ExcelFieldConverter} itself means no converter
+     *
+     * @return Converter class
+     */
+    @SuppressWarnings("rawtypes")
+    Class<? extends ExcelFieldConverter> converter() default ExcelFieldConverter.class;
 }
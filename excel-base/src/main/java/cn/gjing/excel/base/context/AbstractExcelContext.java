@@ -1,6 +1,7 @@
 package cn.gjing.excel.base.context;
 
 import cn.gjing.excel.base.listener.ExcelListener;
+import cn.gjing.excel.base.listener.ExcelListenerTable;
 import cn.gjing.excel.base.meta.WRMode;
 import lombok.Getter;
 import lombok.Setter;
@@ -40,11 +41,39 @@ public abstract class AbstractExcelContext {
     /**
      * Listener cache
      */
-    @Getter
-    protected final List<ExcelListener> listenerCache;
+    protected final ListenerList listenerCache;
+
+    /**
+     * Dispatch table of the listener cache, rebuilt when the listener cache is modified
+     */
+    private volatile ExcelListenerTable listenerTable;
 
     protected AbstractExcelContext() {
-        this.listenerCache = new ArrayList<>();
+        this.listenerCache = new ListenerList();
+    }
+
+    /**
+     * Get the listener cache, the listeners can be added or removed through the returned list
+     *
+     * @return Listener cache
+     */
+    public List<ExcelListener> getListenerCache() {
+        return this.listenerCache;
+    }
+
+    /**
+     * Get the dispatch table of the current listeners
+     *
+     * @return ExcelListenerTable
+     */
+    public ExcelListenerTable getListenerTable() {
+        ExcelListenerTable table = this.listenerTable;
+        int modCount = this.listenerCache.getModCount();
+        if (table == null || table.getModCount() != modCount) {
+            table = new ExcelListenerTable(this.listenerCache, modCount);
+            this.listenerTable = table;
+        }
+        return table;
     }
 
     /**
@@ -57,4 +86,21 @@ public abstract class AbstractExcelContext {
             this.listenerCache.add(listener);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Listener list that exposes its modification count, so that the dispatch table knows when to rebuild
+     */
+    protected static final class ListenerList extends ArrayList<ExcelListener> {
+        private static final long serialVersionUID = 1L;
+
+        int getModCount() {
+            return super.modCount;
+        }
+
+        @Override
+        public ExcelListener set(int index, ExcelListener element) {
+            super.modCount++;
+            return super.set(index, element);
+        }
+    }
+}
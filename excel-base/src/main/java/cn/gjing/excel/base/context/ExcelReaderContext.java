@@ -1,12 +1,14 @@
 package cn.gjing.excel.base.context;
 
 import cn.gjing.excel.base.ExcelFieldProperty;
+import cn.gjing.excel.base.listener.read.ExcelBatchReadListener;
 import cn.gjing.excel.base.listener.read.ExcelResultReadListener;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Excel reader global context
@@ -46,6 +48,27 @@ public class ExcelReaderContext<R> extends AbstractExcelContext {
      */
     private ExcelResultReadListener<R> resultReadListener;
 
+    /**
+     * Read batch listener
+     */
+    private ExcelBatchReadListener<R> batchReadListener;
+
+    /**
+     * Number of rows in each batch notified to the batch listener
+     */
+    private int batchSize;
+
+    /**
+     * Number of rows mapped to objects at the same time, greater than 1 to read in parallel
+     */
+    private int parallelism = 1;
+
+    /**
+     * Thread pool that maps rows to objects when reading in parallel,
+     * if null, a pool is created for each read and shut down after the read
+     */
+    private ExecutorService parallelExecutor;
+
     /**
      * Excel filed properties
      */
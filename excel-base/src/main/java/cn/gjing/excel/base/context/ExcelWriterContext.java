@@ -1,11 +1,22 @@
 package cn.gjing.excel.base.context;
 
 import cn.gjing.excel.base.ExcelFieldProperty;
+import cn.gjing.excel.base.ExcelStyleRegistry;
+import cn.gjing.excel.base.SpillOptions;
+import cn.gjing.excel.base.exception.ExcelException;
+import cn.gjing.excel.base.listener.ExcelListenerTable;
 import cn.gjing.excel.base.meta.ExcelType;
+import cn.gjing.excel.base.meta.WriteEngine;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.apache.poi.ss.usermodel.Sheet;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Excel writer global context
@@ -41,6 +52,36 @@ public final class ExcelWriterContext extends AbstractExcelContext {
      */
     private ExcelType excelType = ExcelType.XLS;
 
+    /**
+     * Excel write engine
+     */
+    private WriteEngine writeEngine = WriteEngine.USER_MODEL;
+
+    /**
+     * Spill options of the rows flushed out of the window, only for xlsx
+     */
+    private SpillOptions spillOptions = SpillOptions.of();
+
+    /**
+     * Expected number of rows of the sheets created next, -1 is unknown
+     */
+    private int rowCountHint = -1;
+
+    /**
+     * Deflate level of the entries of the exported file, -1 is the default level, only for xlsx
+     */
+    private int compressionLevel = -1;
+
+    /**
+     * Number of threads converting the body rows of the sheets written next, less than 2 converts them on the writing thread
+     */
+    private int rowParallelism = 1;
+
+    /**
+     * Executor converting the body rows, if null a pool is created for each written body
+     */
+    private Executor rowExecutor;
+
     /**
      * Excel head row height
      */
@@ -61,7 +102,184 @@ public final class ExcelWriterContext extends AbstractExcelContext {
      */
     private List<ExcelFieldProperty> fieldProperties;
 
+    /**
+     * Next row index of each sheet, -1 until the first row of the sheet is claimed
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<Sheet, int[]> rowCursors = new IdentityHashMap<>(8);
+
+    /**
+     * Row cursor of the current sheet
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int[] rowCursor;
+
+    /**
+     * Cell style registry of the current workbook
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ExcelStyleRegistry styleRegistry;
+
+    /**
+     * Sheets bound to the threads writing them in parallel
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final ThreadLocal<SheetBinding> sheetBinding = new ThreadLocal<>();
+
+    /**
+     * Number of threads that have a bound sheet, the thread local is not looked up when there is none
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final AtomicInteger boundThreads = new AtomicInteger();
+
     public ExcelWriterContext() {
         super();
     }
+
+    /**
+     * Get the current sheet, that is the sheet bound to the current thread if there is one
+     *
+     * @return Current sheet
+     */
+    @Override
+    public Sheet getSheet() {
+        SheetBinding binding = this.getBinding();
+        return binding == null ? super.sheet : binding.sheet;
+    }
+
+    /**
+     * Get the dispatch table of the current listeners, that is the table bound to the current thread if there is one
+     *
+     * @return ExcelListenerTable
+     */
+    @Override
+    public ExcelListenerTable getListenerTable() {
+        SheetBinding binding = this.getBinding();
+        return binding == null ? super.getListenerTable() : binding.listenerTable;
+    }
+
+    /**
+     * Set the current sheet and switch to its row cursor
+     *
+     * @param sheet Current sheet
+     */
+    @Override
+    public void setSheet(Sheet sheet) {
+        super.setSheet(sheet);
+        this.rowCursor = sheet == null ? null : this.rowCursors.computeIfAbsent(sheet, k -> new int[]{-1});
+    }
+
+    /**
+     * Get the cell style registry of the current workbook, all style listeners should create their styles through it
+     *
+     * @return ExcelStyleRegistry
+     */
+    public ExcelStyleRegistry getStyleRegistry() {
+        if (this.styleRegistry == null || this.styleRegistry.getWorkbook() != super.workbook) {
+            this.styleRegistry = new ExcelStyleRegistry(super.workbook);
+        }
+        return this.styleRegistry;
+    }
+
+    /**
+     * Claim the index of the next row of the current sheet.
+     * the cursor starts after the last row that exists when the first row of the sheet is claimed,
+     * the listeners that create rows in the current sheet move the cursor after them with {@link #advanceRowCursor(int)}
+     *
+     * @return Row index
+     */
+    public int nextRowIndex() {
+        return this.resolveRowCursor()[0]++;
+    }
+
+    /**
+     * Get the index of the next row of the current sheet without claiming it
+     *
+     * @return Row index
+     */
+    public int getNextRowIndex() {
+        return this.resolveRowCursor()[0];
+    }
+
+    /**
+     * Move the row cursor of the current sheet after the last row of the sheet,
+     * for the listeners that create rows without tracking their indexes, the last row of the sheet is looked up
+     */
+    public void syncRowCursor() {
+        this.advanceRowCursor(this.getSheet().getLastRowNum());
+    }
+
+    /**
+     * Move the row cursor of the current sheet after the row if it is not already after it
+     *
+     * @param rowIndex Index of a created row
+     */
+    public void advanceRowCursor(int rowIndex) {
+        int[] cursor = this.resolveRowCursor();
+        if (rowIndex >= cursor[0]) {
+            cursor[0] = rowIndex + 1;
+        }
+    }
+
+    /**
+     * Bind the sheet to the current thread until {@link #unbindSheet()}, the thread then sees the sheet,
+     * its row cursor and the listener table as the current ones, so the sheets of a workbook can be written by their own threads.
+     * the sheet must have been set as the current sheet before, as the row cursors are not created concurrently
+     *
+     * @param sheet         Sheet written by the current thread
+     * @param listenerTable Listener dispatch table used by the current thread, usually {@link ExcelListenerTable#synchronize(Object)}
+     */
+    public void bindSheet(Sheet sheet, ExcelListenerTable listenerTable) {
+        int[] cursor = this.rowCursors.get(sheet);
+        if (cursor == null) {
+            throw new ExcelException("The sheet " + sheet.getSheetName() + " must be created before it is bound");
+        }
+        if (this.sheetBinding.get() == null) {
+            this.boundThreads.incrementAndGet();
+        }
+        this.sheetBinding.set(new SheetBinding(sheet, cursor, listenerTable));
+    }
+
+    /**
+     * Unbind the sheet of the current thread
+     */
+    public void unbindSheet() {
+        if (this.sheetBinding.get() != null) {
+            this.sheetBinding.remove();
+            this.boundThreads.decrementAndGet();
+        }
+    }
+
+    private SheetBinding getBinding() {
+        return this.boundThreads.get() == 0 ? null : this.sheetBinding.get();
+    }
+
+    private int[] resolveRowCursor() {
+        SheetBinding binding = this.getBinding();
+        int[] cursor = binding == null ? this.rowCursor : binding.rowCursor;
+        if (cursor[0] < 0) {
+            cursor[0] = (binding == null ? super.sheet : binding.sheet).getLastRowNum() + 1;
+        }
+        return cursor;
+    }
+
+    /**
+     * Sheet bound to a thread
+     */
+    private static final class SheetBinding {
+        private final Sheet sheet;
+        private final int[] rowCursor;
+        private final ExcelListenerTable listenerTable;
+
+        SheetBinding(Sheet sheet, int[] rowCursor, ExcelListenerTable listenerTable) {
+            this.sheet = sheet;
+            this.rowCursor = rowCursor;
+            this.listenerTable = listenerTable;
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package cn.gjing.excel.base.convert;
+
+import cn.gjing.excel.base.annotation.ExcelDataConvert;
+import cn.gjing.excel.base.meta.ExcelConverterMeta;
+
+/**
+ * Field value converter, declared through {@link ExcelDataConvert#converter()} and invoked directly
+ * instead of evaluating the EL expressions. one instance is created for each field and shared by all
+ * readers and writers, so the implementation must be stateless and have a no-argument constructor
+ *
+ * @param <F> Field type
+ * @param <C> Cell value type
+ * @author Gjing
+ **/
+public interface ExcelFieldConverter<F, C> {
+    /**
+     * Convert the field value into the value written to the cell when exporting
+     *
+     * @param value Field value, may be null
+     * @return Cell value, null is not written
+     */
+    C toCell(F value);
+
+    /**
+     * Convert the cell value into the field value when importing,
+     * cell values of another type are converted to the cell value type by {@link ExcelConverterMeta} first
+     *
+     * @param value Cell value, null if the cell is empty
+     * @return Field value
+     */
+    F toField(C value);
+}
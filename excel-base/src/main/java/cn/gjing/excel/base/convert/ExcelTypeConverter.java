@@ -0,0 +1,20 @@
+package cn.gjing.excel.base.convert;
+
+import cn.gjing.excel.base.meta.ExcelConverterMeta;
+
+/**
+ * Cell value type converter, converts the value read from a cell into the type of the mapped field during import.
+ * registered in {@link ExcelConverterMeta} by source type and target type
+ *
+ * @author Gjing
+ **/
+@FunctionalInterface
+public interface ExcelTypeConverter<S, T> {
+    /**
+     * Convert the cell value
+     *
+     * @param source Cell value, never null
+     * @return Field value
+     */
+    T convert(S source);
+}
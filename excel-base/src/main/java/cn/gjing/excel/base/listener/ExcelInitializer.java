@@ -1,6 +1,7 @@
 package cn.gjing.excel.base.listener;
 
 import cn.gjing.excel.base.annotation.Excel;
+import cn.gjing.excel.base.meta.ExcelConverterMeta;
 import cn.gjing.excel.base.meta.ExcelType;
 import cn.gjing.excel.base.meta.ExecMode;
 
@@ -33,4 +34,12 @@ public interface ExcelInitializer {
     default ExcelType initExcelType(Class<?> excelEntity, ExecMode execMode) {
         return null;
     }
+
+    /**
+     * Initialize the global cell value converters, triggered once when the initializer is set
+     *
+     * @param converterMeta Converter registry, built-in converters can be replaced by registering the same source and target types
+     */
+    default void initConverters(ExcelConverterMeta converterMeta) {
+    }
 }
@@ -0,0 +1,215 @@
+package cn.gjing.excel.base.listener;
+
+import cn.gjing.excel.base.BigTitle;
+import cn.gjing.excel.base.ExcelFieldProperty;
+import cn.gjing.excel.base.listener.read.ExcelEmptyReadListener;
+import cn.gjing.excel.base.listener.read.ExcelRowReadListener;
+import cn.gjing.excel.base.listener.write.*;
+import cn.gjing.excel.base.meta.RowType;
+import lombok.Getter;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Listener dispatch table, the listeners of each event are resolved once in registration order,
+ * so the events do not check the type of every listener again. listeners that only inherit the default
+ * no-op implementation of an event are left out of that event
+ *
+ * @author Gjing
+ **/
+@Getter
+@SuppressWarnings("rawtypes")
+public final class ExcelListenerTable {
+    /**
+     * Modification count of the listener list when the table is built
+     */
+    private final int modCount;
+
+    private final ExcelCellWriteListener[] completeCellListeners;
+    private final ExcelCellWriteListener[] assignmentBeforeListeners;
+    private final ExcelRowWriteListener[] createRowBeforeListeners;
+    private final ExcelRowWriteListener[] completeRowListeners;
+    private final ExcelSheetWriteListener[] sheetListeners;
+    private final ExcelWorkbookWriteListener[] workbookListeners;
+    private final ExcelStyleWriteListener[] styleListeners;
+    private final ExcelRowReadListener[] readRowListeners;
+    private final ExcelRowReadListener[] readCellListeners;
+    private final ExcelRowReadListener[] readBeforeListeners;
+    private final ExcelRowReadListener[] readFinishListeners;
+    private final ExcelEmptyReadListener[] readEmptyListeners;
+
+    /**
+     * Build the dispatch table
+     *
+     * @param listeners Registered listeners
+     * @param modCount  Modification count of the listener list
+     */
+    public ExcelListenerTable(List<ExcelListener> listeners, int modCount) {
+        this.modCount = modCount;
+        this.completeCellListeners = filter(listeners, ExcelCellWriteListener.class, l -> true);
+        this.assignmentBeforeListeners = filter(listeners, ExcelCellWriteListener.class, l -> overrides(l, ExcelCellWriteListener.class, "assignmentBefore",
+                Sheet.class, Row.class, Cell.class, ExcelFieldProperty.class, int.class, RowType.class, Object.class));
+        this.createRowBeforeListeners = filter(listeners, ExcelRowWriteListener.class, l -> overrides(l, ExcelRowWriteListener.class, "createBefore",
+                Sheet.class, int.class, RowType.class));
+        this.completeRowListeners = filter(listeners, ExcelRowWriteListener.class, l -> true);
+        this.sheetListeners = filter(listeners, ExcelSheetWriteListener.class, l -> true);
+        this.workbookListeners = filter(listeners, ExcelWorkbookWriteListener.class, l -> true);
+        this.styleListeners = filter(listeners, ExcelStyleWriteListener.class, l -> true);
+        this.readRowListeners = filter(listeners, ExcelRowReadListener.class, l -> true);
+        this.readCellListeners = filter(listeners, ExcelRowReadListener.class, l -> overrides(l, ExcelRowReadListener.class, "readCell",
+                Object.class, Cell.class, int.class, int.class, RowType.class));
+        this.readBeforeListeners = filter(listeners, ExcelRowReadListener.class, l -> overrides(l, ExcelRowReadListener.class, "readBefore"));
+        this.readFinishListeners = filter(listeners, ExcelRowReadListener.class, l -> overrides(l, ExcelRowReadListener.class, "readFinish"));
+        this.readEmptyListeners = filter(listeners, ExcelEmptyReadListener.class, l -> true);
+    }
+
+    private ExcelListenerTable(ExcelListenerTable table, Object mutex) {
+        this.modCount = table.modCount;
+        this.completeCellListeners = wrap(table.completeCellListeners, ExcelCellWriteListener.class, mutex);
+        this.assignmentBeforeListeners = wrap(table.assignmentBeforeListeners, ExcelCellWriteListener.class, mutex);
+        this.createRowBeforeListeners = wrap(table.createRowBeforeListeners, ExcelRowWriteListener.class, mutex);
+        this.completeRowListeners = wrap(table.completeRowListeners, ExcelRowWriteListener.class, mutex);
+        this.sheetListeners = wrap(table.sheetListeners, ExcelSheetWriteListener.class, mutex);
+        this.workbookListeners = wrap(table.workbookListeners, ExcelWorkbookWriteListener.class, mutex);
+        this.styleListeners = wrap(table.styleListeners, ExcelStyleWriteListener.class, mutex);
+        this.readRowListeners = table.readRowListeners;
+        this.readCellListeners = table.readCellListeners;
+        this.readBeforeListeners = table.readBeforeListeners;
+        this.readFinishListeners = table.readFinishListeners;
+        this.readEmptyListeners = table.readEmptyListeners;
+    }
+
+    /**
+     * Get a dispatch table whose write listeners are invoked one at a time while holding the mutex,
+     * used when several threads write the sheets of the same workbook, so the listeners written for
+     * a single thread keep working
+     *
+     * @param mutex Mutex shared by the threads
+     * @return Synchronized dispatch table
+     */
+    public ExcelListenerTable synchronize(Object mutex) {
+        return new ExcelListenerTable(this, mutex);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] filter(List<ExcelListener> listeners, Class<T> type, Predicate<ExcelListener> predicate) {
+        List<T> result = new ArrayList<>();
+        for (ExcelListener listener : listeners) {
+            if (type.isInstance(listener) && predicate.test(listener)) {
+                result.add(type.cast(listener));
+            }
+        }
+        return result.toArray((T[]) Array.newInstance(type, result.size()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] wrap(T[] listeners, Class<T> type, Object mutex) {
+        T[] result = (T[]) Array.newInstance(type, listeners.length);
+        for (int i = 0; i < listeners.length; i++) {
+            result[i] = type.cast(new SynchronizedListener((ExcelListener) listeners[i], mutex));
+        }
+        return result;
+    }
+
+    /**
+     * Whether the listener provides its own implementation of a default method of the listener interface
+     *
+     * @param listener       Listener
+     * @param type           Listener interface declaring the default method
+     * @param name           Method name
+     * @param parameterTypes Method parameter types
+     * @return true if the method is overridden
+     */
+    private static boolean overrides(ExcelListener listener, Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return listener.getClass().getMethod(name, parameterTypes).getDeclaringClass() != type;
+        } catch (NoSuchMethodException | SecurityException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Write listener that invokes the wrapped listener while holding the mutex,
+     * each method is only called for the listener types it is registered with in the table
+     */
+    private static final class SynchronizedListener implements ExcelCellWriteListener, ExcelRowWriteListener, ExcelSheetWriteListener,
+            ExcelWorkbookWriteListener, ExcelStyleWriteListener {
+        private final ExcelListener listener;
+        private final Object mutex;
+
+        SynchronizedListener(ExcelListener listener, Object mutex) {
+            this.listener = listener;
+            this.mutex = mutex;
+        }
+
+        @Override
+        public void completeCell(Sheet sheet, Row row, Cell cell, ExcelFieldProperty property, int dataIndex, RowType rowType) {
+            synchronized (this.mutex) {
+                ((ExcelCellWriteListener) this.listener).completeCell(sheet, row, cell, property, dataIndex, rowType);
+            }
+        }
+
+        @Override
+        public Object assignmentBefore(Sheet sheet, Row row, Cell cell, ExcelFieldProperty property, int dataIndex, RowType rowType, Object value) {
+            synchronized (this.mutex) {
+                return ((ExcelCellWriteListener) this.listener).assignmentBefore(sheet, row, cell, property, dataIndex, rowType, value);
+            }
+        }
+
+        @Override
+        public void completeRow(Sheet sheet, Row row, Object excelEntity, int dataIndex, RowType rowType) {
+            synchronized (this.mutex) {
+                ((ExcelRowWriteListener) this.listener).completeRow(sheet, row, excelEntity, dataIndex, rowType);
+            }
+        }
+
+        @Override
+        public void createBefore(Sheet sheet, int dataIndex, RowType rowType) {
+            synchronized (this.mutex) {
+                ((ExcelRowWriteListener) this.listener).createBefore(sheet, dataIndex, rowType);
+            }
+        }
+
+        @Override
+        public void completeSheet(Sheet sheet) {
+            synchronized (this.mutex) {
+                ((ExcelSheetWriteListener) this.listener).completeSheet(sheet);
+            }
+        }
+
+        @Override
+        public boolean flushBefore(Workbook workbook) {
+            synchronized (this.mutex) {
+                return ((ExcelWorkbookWriteListener) this.listener).flushBefore(workbook);
+            }
+        }
+
+        @Override
+        public void setTitleStyle(BigTitle bigTitle, Cell cell) {
+            synchronized (this.mutex) {
+                ((ExcelStyleWriteListener) this.listener).setTitleStyle(bigTitle, cell);
+            }
+        }
+
+        @Override
+        public void setHeadStyle(Row row, Cell cell, ExcelFieldProperty property, int dataIndex) {
+            synchronized (this.mutex) {
+                ((ExcelStyleWriteListener) this.listener).setHeadStyle(row, cell, property, dataIndex);
+            }
+        }
+
+        @Override
+        public void setBodyStyle(Row row, Cell cell, ExcelFieldProperty property, int dataIndex) {
+            synchronized (this.mutex) {
+                ((ExcelStyleWriteListener) this.listener).setBodyStyle(row, cell, property, dataIndex);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package cn.gjing.excel.base.listener.read;
+
+import java.util.List;
+
+/**
+ * Import data batch listener, the Excel executor collects the Excel entities generated for each row
+ * into fixed size batches, triggered each time a batch is full and once more for the remaining rows
+ * after all data import is complete.
+ * The batch list is reused by the executor and is cleared after the notification returns,
+ * copy it if the data needs to be kept
+ *
+ * @author Gjing
+ **/
+@FunctionalInterface
+public interface ExcelBatchReadListener<R> extends ExcelReadListener {
+    /**
+     * Notify the user to take a batch of data
+     *
+     * @param batch Data generated for the current batch of rows
+     * @return Whether to continue reading the next rows
+     */
+    boolean notify(List<R> batch);
+}
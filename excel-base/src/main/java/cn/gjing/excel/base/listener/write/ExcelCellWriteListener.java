@@ -7,7 +7,8 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 
 /**
- * Cell listener, which is triggered when the Excel export executor performs Cell-related operations
+ * Cell listener, which is triggered when the Excel export executor performs Cell-related operations.
+ * the rows created by this listener must be reported to the row cursor, see {@link ExcelWriteListener}
  *
  * @author Gjing
  **/
@@ -5,7 +5,8 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 
 /**
- * Row listener, which is triggered when the Excel export executor performs Row-related operations
+ * Row listener, which is triggered when the Excel export executor performs Row-related operations.
+ * the rows created by this listener must be reported to the row cursor, see {@link ExcelWriteListener}
  *
  * @author Gjing
  **/
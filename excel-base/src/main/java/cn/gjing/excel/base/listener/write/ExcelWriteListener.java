@@ -3,7 +3,11 @@ package cn.gjing.excel.base.listener.write;
 import cn.gjing.excel.base.listener.ExcelListener;
 
 /**
- * Excel export listener
+ * Excel export listener.
+ * the writers place their rows with a row cursor instead of looking up the last row of the sheet,
+ * so a listener that creates rows in the sheet being written must report them through
+ * {@link cn.gjing.excel.base.context.ExcelWriterContext#advanceRowCursor(int)} (the context is available
+ * through {@link cn.gjing.excel.base.aware.ExcelWriteContextAware}), otherwise they are overwritten by the next row
  *
  * @author Gjing
  **/
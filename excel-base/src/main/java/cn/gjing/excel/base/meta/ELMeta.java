@@ -1,8 +1,19 @@
 package cn.gjing.excel.base.meta;
 
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.VariableReference;
+import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * EL global expression parser
  *
@@ -11,12 +22,58 @@ import org.springframework.expression.spel.standard.SpelExpressionParser;
 public enum ELMeta {
     PARSER;
 
-    private final SpelExpressionParser parser = new SpelExpressionParser();
+    /**
+     * Expressions are compiled after a few interpreted runs and fall back to
+     * the interpreter if a compiled expression stops matching the variable types
+     */
+    private final SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
+
+    /**
+     * Parsed expression cache, key is the expression text
+     */
+    private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>(64);
 
     public SpelExpressionParser getParser() {
         return PARSER.parser;
     }
 
+    /**
+     * Get the parsed expression, each expression text is parsed only once
+     *
+     * @param expr el expression
+     * @return Expression
+     */
+    public Expression getExpression(String expr) {
+        Expression expression = this.expressionCache.get(expr);
+        if (expression == null) {
+            expression = this.expressionCache.computeIfAbsent(expr, this.parser::parseExpression);
+        }
+        return expression;
+    }
+
+    /**
+     * Get the names of the variables referenced by the expression, such as {@code name} of {@code #name}
+     *
+     * @param expression Parsed expression
+     * @return Variable names
+     */
+    public Set<String> getVariableNames(Expression expression) {
+        Set<String> names = new HashSet<>();
+        if (expression instanceof SpelExpression) {
+            this.collectVariableNames(((SpelExpression) expression).getAST(), names);
+        }
+        return names;
+    }
+
+    private void collectVariableNames(SpelNode node, Set<String> names) {
+        if (node instanceof VariableReference) {
+            names.add(node.toStringAST().substring(1));
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            this.collectVariableNames(node.getChild(i), names);
+        }
+    }
+
     /**
      * El expression parsing
      *
@@ -27,7 +84,7 @@ public enum ELMeta {
      * @return R
      */
     public <R> R parse(String expr, EvaluationContext context, Class<R> returnType) {
-        return parser.parseExpression(expr).getValue(context, returnType);
+        return this.getExpression(expr).getValue(context, returnType);
     }
 
     /**
@@ -38,6 +95,6 @@ public enum ELMeta {
      * @return Obj
      */
     public Object parse(String expr, EvaluationContext context) {
-        return parser.parseExpression(expr).getValue(context);
+        return this.getExpression(expr).getValue(context);
     }
 }
@@ -0,0 +1,117 @@
+package cn.gjing.excel.base.meta;
+
+import cn.gjing.excel.base.convert.ExcelTypeConverter;
+import cn.gjing.excel.base.listener.ExcelInitializer;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global cell value converter registry, used to convert the cell value to the field type during import.
+ * custom converters can be registered through {@link ExcelInitializer#initConverters}
+ *
+ * @author Gjing
+ **/
+public enum ExcelConverterMeta {
+    INSTANCE;
+
+    /**
+     * Converter cache, the first key is the source type, the second key is the target type
+     */
+    private final Map<Class<?>, Map<Class<?>, ExcelTypeConverter<?, ?>>> converters = new ConcurrentHashMap<>(16);
+
+    ExcelConverterMeta() {
+        this.register(Double.class, Integer.class, e -> (int) toLongExact(e, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        this.register(Double.class, Long.class, e -> toLongExact(e, Long.MIN_VALUE, Long.MAX_VALUE));
+        this.register(Double.class, Short.class, e -> (short) toLongExact(e, Short.MIN_VALUE, Short.MAX_VALUE));
+        this.register(Double.class, Byte.class, e -> (byte) toLongExact(e, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        this.register(Double.class, Float.class, Double::floatValue);
+        this.register(Double.class, BigDecimal.class, BigDecimal::valueOf);
+        this.register(Double.class, BigInteger.class, e -> BigDecimal.valueOf(e).toBigIntegerExact());
+        this.register(Double.class, String.class, e -> BigDecimal.valueOf(e).stripTrailingZeros().toPlainString());
+        this.register(Double.class, Date.class, DateUtil::getJavaDate);
+        this.register(Double.class, LocalDateTime.class, DateUtil::getLocalDateTime);
+        this.register(Double.class, LocalDate.class, e -> DateUtil.getLocalDateTime(e).toLocalDate());
+        this.register(String.class, Integer.class, e -> Integer.valueOf(e.trim()));
+        this.register(String.class, Long.class, e -> Long.valueOf(e.trim()));
+        this.register(String.class, Short.class, e -> Short.valueOf(e.trim()));
+        this.register(String.class, Byte.class, e -> Byte.valueOf(e.trim()));
+        this.register(String.class, Double.class, e -> Double.valueOf(e.trim()));
+        this.register(String.class, Float.class, e -> Float.valueOf(e.trim()));
+        this.register(String.class, BigDecimal.class, e -> new BigDecimal(e.trim()));
+        this.register(String.class, BigInteger.class, e -> new BigInteger(e.trim()));
+        this.register(String.class, Boolean.class, e -> Boolean.valueOf(e.trim()));
+        this.register(String.class, Character.class, e -> {
+            if (e.length() != 1) {
+                throw new IllegalArgumentException("The length of " + e + " is not 1");
+            }
+            return e.charAt(0);
+        });
+        this.register(String.class, LocalDate.class, e -> LocalDate.parse(e.trim()));
+        this.register(String.class, LocalDateTime.class, e -> LocalDateTime.parse(e.trim().replace(' ', 'T')));
+        this.register(String.class, LocalTime.class, e -> LocalTime.parse(e.trim()));
+        this.register(Date.class, LocalDateTime.class, e -> LocalDateTime.ofInstant(e.toInstant(), ZoneId.systemDefault()));
+        this.register(Date.class, LocalDate.class, e -> LocalDateTime.ofInstant(e.toInstant(), ZoneId.systemDefault()).toLocalDate());
+        this.register(Date.class, LocalTime.class, e -> LocalDateTime.ofInstant(e.toInstant(), ZoneId.systemDefault()).toLocalTime());
+        this.register(Boolean.class, String.class, Object::toString);
+    }
+
+    /**
+     * Register a converter, an existing converter with the same source and target types is replaced
+     *
+     * @param sourceType Cell value type
+     * @param targetType Field type, primitive types are registered as their wrapper types
+     * @param converter  Converter
+     * @param <S>        Source type
+     * @param <T>        Target type
+     */
+    public <S, T> void register(Class<S> sourceType, Class<T> targetType, ExcelTypeConverter<? super S, ? extends T> converter) {
+        this.converters.computeIfAbsent(ClassUtils.resolvePrimitiveIfNecessary(sourceType), k -> new ConcurrentHashMap<>(16))
+                .put(ClassUtils.resolvePrimitiveIfNecessary(targetType), converter);
+    }
+
+    /**
+     * Get the converter of the source type and target type.
+     * looks up the source type and then its parent classes, a string is converted to any enum by name
+     *
+     * @param sourceType Cell value type
+     * @param targetType Field type
+     * @return Converter, null if not found
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ExcelTypeConverter<Object, Object> getConverter(Class<?> sourceType, Class<?> targetType) {
+        Class<?> target = ClassUtils.resolvePrimitiveIfNecessary(targetType);
+        for (Class<?> source = ClassUtils.resolvePrimitiveIfNecessary(sourceType); source != null; source = source.getSuperclass()) {
+            Map<Class<?>, ExcelTypeConverter<?, ?>> targetConverters = this.converters.get(source);
+            if (targetConverters != null) {
+                ExcelTypeConverter<?, ?> converter = targetConverters.get(target);
+                if (converter != null) {
+                    return (ExcelTypeConverter<Object, Object>) converter;
+                }
+            }
+        }
+        if (sourceType == String.class && target.isEnum()) {
+            ExcelTypeConverter<String, Enum> converter = e -> Enum.valueOf((Class<Enum>) target, e.trim());
+            this.register(String.class, (Class<Enum>) target, converter);
+            return (ExcelTypeConverter<Object, Object>) (ExcelTypeConverter) converter;
+        }
+        return null;
+    }
+
+    private static long toLongExact(double value, long min, long max) {
+        long l = (long) value;
+        if (l != value || l < min || l > max) {
+            throw new ArithmeticException(value + " cannot be converted to an integer without loss");
+        }
+        return l;
+    }
+}
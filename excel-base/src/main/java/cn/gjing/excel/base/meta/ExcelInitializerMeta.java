@@ -27,6 +27,9 @@ public enum ExcelInitializerMeta {
      */
     public void cache(ExcelInitializer initializer) {
         this.excelInitializer = initializer;
+        if (initializer != null) {
+            initializer.initConverters(ExcelConverterMeta.INSTANCE);
+        }
     }
 
     /**
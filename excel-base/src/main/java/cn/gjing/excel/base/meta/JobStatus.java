@@ -0,0 +1,42 @@
+package cn.gjing.excel.base.meta;
+
+/**
+ * Status of a background export job
+ *
+ * @author Gjing
+ **/
+public enum JobStatus {
+    /**
+     * Waiting for a thread of the executor
+     */
+    QUEUED,
+
+    /**
+     * The rows are being written or the file is being flushed
+     */
+    RUNNING,
+
+    /**
+     * The file is written and can be downloaded
+     */
+    DONE,
+
+    /**
+     * The export failed, the error is kept by the job
+     */
+    FAILED,
+
+    /**
+     * The job was cancelled before it finished
+     */
+    CANCELLED;
+
+    /**
+     * Whether the job will not change anymore
+     *
+     * @return true if done, failed or cancelled
+     */
+    public boolean isFinished() {
+        return this == DONE || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,22 @@
+package cn.gjing.excel.base.meta;
+
+/**
+ * Excel import engine
+ *
+ * @author Gjing
+ **/
+public enum ReadEngine {
+    /**
+     * Read through the POI user model, xls files are loaded into a HSSFWorkbook
+     * and xlsx files are streamed by excel-streaming-reader
+     */
+    USER_MODEL,
+
+    /**
+     * Parse the sheet records of the file directly and build lightweight read-only rows one by one,
+     * the body cells of columns that are not mapped by the Excel entity are skipped without being decoded.
+     * xlsx sheets are parsed with StAX and xls sheets are read from the BIFF record stream,
+     * the workbook and sheet of the reader context are not available
+     */
+    EVENT_MODEL
+}
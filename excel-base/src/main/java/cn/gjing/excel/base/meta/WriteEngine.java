@@ -0,0 +1,21 @@
+package cn.gjing.excel.base.meta;
+
+/**
+ * Excel export engine
+ *
+ * @author Gjing
+ **/
+public enum WriteEngine {
+    /**
+     * Write through the POI user model, xls files are built as a HSSFWorkbook and xlsx files are built by SXSSF,
+     * which buffers the rows of each sheet in a temporary file and copies them into the file when flushing
+     */
+    USER_MODEL,
+
+    /**
+     * Only for xlsx files exported to the response, the rows of the first sheet are written into the response
+     * as soon as they leave the window, without a temporary file. the other parts of the file are written when flushing,
+     * the sheet views and column widths of the first sheet must be set before the rows leave the window
+     */
+    DIRECT
+}
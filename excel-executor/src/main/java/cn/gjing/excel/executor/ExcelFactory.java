@@ -1,5 +1,6 @@
 package cn.gjing.excel.executor;
 
+import cn.gjing.excel.base.SpillOptions;
 import cn.gjing.excel.base.annotation.Excel;
 import cn.gjing.excel.base.context.ExcelReaderContext;
 import cn.gjing.excel.base.context.ExcelWriterContext;
@@ -67,6 +68,9 @@ public final class ExcelFactory {
         ExcelWriterContext context = new ExcelWriterContext();
         context.setExcelEntity(excelEntity);
         context.setExcelType(excel.type());
+        context.setWriteEngine(excel.writeEngine());
+        context.setSpillOptions(new SpillOptions(excel.compressTempFiles(), excel.tempDir(), excel.memoryRowThreshold()));
+        context.setCompressionLevel(excel.compressionLevel());
         context.setFieldProperties(BeanUtils.getExcelFiledProperties(excelEntity, ignores));
         context.setFileName(StringUtils.hasText(fileName) ? fileName : "".equals(excel.value()) ? LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) : excel.value());
         context.setHeaderHeight(excel.headerHeight());
@@ -111,7 +115,24 @@ public final class ExcelFactory {
      * @return ExcelSimpleWriter
      */
     public static ExcelSimpleWriter createSimpleWriter(String fileName, HttpServletResponse response, ExcelType excelType, int windowSize) {
+        return createSimpleWriter(fileName, response, excelType, windowSize, SpillOptions.of());
+    }
+
+    /**
+     * Create an Excel any writer
+     *
+     * @param fileName     Excel file name
+     * @param response     response
+     * @param excelType    Excel file type
+     * @param windowSize   Window size, which is flushed to disk when exported
+     *                     if the data that has been written out exceeds the specified size
+     *                     only for xlsx
+     * @param spillOptions Spill options of the rows flushed out of the window, only for xlsx
+     * @return ExcelSimpleWriter
+     */
+    public static ExcelSimpleWriter createSimpleWriter(String fileName, HttpServletResponse response, ExcelType excelType, int windowSize, SpillOptions spillOptions) {
         ExcelWriterContext context = new ExcelWriterContext();
+        context.setSpillOptions(spillOptions == null ? SpillOptions.of() : spillOptions);
         context.setFileName(StringUtils.hasText(fileName) ? fileName : LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
         context.setExcelEntity(null);
         context.setExcelType(excelType);
@@ -0,0 +1,179 @@
+package cn.gjing.excel.executor.job;
+
+import cn.gjing.excel.base.listener.write.ExcelRowWriteListener;
+import cn.gjing.excel.base.meta.JobStatus;
+import cn.gjing.excel.base.meta.RowType;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.io.File;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background export job of {@link ExcelExportJobs}.
+ * the job is also a row listener counting the written body rows, add it to the writer to track the progress
+ *
+ * @author Gjing
+ **/
+@Getter
+public final class ExcelExportJob implements ExcelRowWriteListener {
+    /**
+     * Job id
+     */
+    private final String id;
+
+    /**
+     * Directory of the job where the file is written
+     */
+    private final File directory;
+
+    /**
+     * Time the job is submitted, in milliseconds
+     */
+    private final long submitTime;
+
+    /**
+     * Current status
+     */
+    private volatile JobStatus status = JobStatus.QUEUED;
+
+    /**
+     * Expected number of body rows, negative is unknown
+     */
+    private volatile long totalRows = -1;
+
+    /**
+     * Written file, null until the job is done
+     */
+    private volatile File file;
+
+    /**
+     * Error of the failed job
+     */
+    private volatile Throwable error;
+
+    /**
+     * Time the job finishes, in milliseconds, 0 until it is finished
+     */
+    private volatile long finishTime;
+
+    private final AtomicLong writtenRows = new AtomicLong();
+
+    @Getter(AccessLevel.NONE)
+    private volatile Future<?> future;
+
+    /**
+     * Whether a thread of the executor is running the job, a cancelled job may still be running
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile boolean running;
+
+    ExcelExportJob(String id, File directory) {
+        this.id = id;
+        this.directory = directory;
+        this.submitTime = System.currentTimeMillis();
+    }
+
+    @Override
+    public void completeRow(Sheet sheet, Row row, Object excelEntity, int dataIndex, RowType rowType) {
+        if (rowType == RowType.BODY) {
+            this.writtenRows.incrementAndGet();
+        }
+    }
+
+    /**
+     * Set the expected number of body rows, used to compute the progress
+     *
+     * @param totalRows Expected number of rows, negative is unknown
+     * @return this
+     */
+    public ExcelExportJob totalRows(long totalRows) {
+        this.totalRows = totalRows;
+        return this;
+    }
+
+    /**
+     * Get the number of body rows written so far
+     *
+     * @return Written rows
+     */
+    public long getWrittenRows() {
+        return this.writtenRows.get();
+    }
+
+    /**
+     * Get the progress of the job, the written rows divided by the expected rows.
+     * the progress stays below 1 until the file is written
+     *
+     * @return Progress between 0 and 1, -1 if the expected rows are unknown and the job is not done
+     */
+    public double getProgress() {
+        if (this.status == JobStatus.DONE) {
+            return 1;
+        }
+        long total = this.totalRows;
+        if (total < 0) {
+            return -1;
+        }
+        return total == 0 ? 0 : Math.min(0.99, (double) this.writtenRows.get() / total);
+    }
+
+    /**
+     * Cancel the job, a running job is interrupted, but the rows being written are only stopped
+     * if the recipe checks the interruption
+     *
+     * @return true if the job is cancelled
+     */
+    public boolean cancel() {
+        Future<?> future = this.future;
+        if (this.status.isFinished() || future == null || !future.cancel(true)) {
+            return false;
+        }
+        return this.finish(JobStatus.CANCELLED, null, null);
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * Whether a thread of the executor is running the job, a cancelled job may still be running
+     * until the recipe or the flush returns
+     *
+     * @return true if running
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    synchronized boolean start() {
+        if (this.status != JobStatus.QUEUED) {
+            return false;
+        }
+        this.running = true;
+        this.status = JobStatus.RUNNING;
+        return true;
+    }
+
+    synchronized boolean cancelQueued() {
+        return this.status == JobStatus.QUEUED && this.finish(JobStatus.CANCELLED, null, null);
+    }
+
+    void stop() {
+        this.running = false;
+    }
+
+    synchronized boolean finish(JobStatus status, File file, Throwable error) {
+        if (this.status.isFinished()) {
+            return false;
+        }
+        this.file = file;
+        this.error = error;
+        this.finishTime = System.currentTimeMillis();
+        this.status = status;
+        return true;
+    }
+}
@@ -0,0 +1,227 @@
+package cn.gjing.excel.executor.job;
+
+import cn.gjing.excel.base.exception.ExcelException;
+import cn.gjing.excel.base.meta.JobStatus;
+import cn.gjing.excel.executor.ExcelFactory;
+import cn.gjing.excel.executor.write.ExcelBaseWriter;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Background export jobs, the exports are written to local files by a bounded executor
+ * instead of the request threads, and the finished files are downloaded later.
+ * each job writes its file into its own directory under the job directory, the files are kept until the job is removed
+ *
+ * <pre>
+ *     ExcelExportJob job = jobs.submit(() -&gt; ExcelFactory.createWriter(Order.class, null),
+ *             (writer, j) -&gt; writer.listener(j.totalRows(orders.size())).write(orders));
+ *     // later, in another request
+ *     jobs.transferToNetwork(job.getId(), response);
+ * </pre>
+ *
+ * @author Gjing
+ **/
+public final class ExcelExportJobs implements Closeable {
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final Path directory;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ExcelExportJob> jobs = new ConcurrentHashMap<>(16);
+
+    /**
+     * Create the export jobs
+     *
+     * @param directory     Directory where the files of the jobs are written
+     * @param threads       Number of jobs running at the same time
+     * @param queueCapacity Number of jobs waiting for a thread, the jobs submitted beyond are rejected
+     */
+    public ExcelExportJobs(String directory, int threads, int queueCapacity) {
+        try {
+            this.directory = Files.createDirectories(Paths.get(directory));
+        } catch (IOException e) {
+            throw new ExcelException("Failed to create the export job directory, " + e.getMessage());
+        }
+        String prefix = "excel-export-" + POOL_NUMBER.incrementAndGet() + "-";
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submit an export job, the writer factory creates the writer without a response and the recipe writes the data,
+     * then the writer is flushed to the directory of the job. the writer is closed if the job fails or is cancelled,
+     * so the temporary files of its sheets are deleted.
+     * the job passed to the recipe can be added to the writer as a listener to count the written rows
+     *
+     * @param writerFactory Creates the writer, called on a thread of the executor
+     * @param recipe        Writes the data with the writer, called on a thread of the executor
+     * @param <W>           Writer type
+     * @return Export job
+     * @throws ExcelException If the queue of the executor is full or the jobs are closed
+     */
+    public <W extends ExcelBaseWriter> ExcelExportJob submit(Supplier<W> writerFactory, BiConsumer<W, ExcelExportJob> recipe) {
+        String id = UUID.randomUUID().toString().replace("-", "");
+        ExcelExportJob job = new ExcelExportJob(id, this.directory.resolve(id).toFile());
+        this.jobs.put(id, job);
+        try {
+            job.setFuture(this.executor.submit(() -> this.run(job, writerFactory, recipe)));
+        } catch (RejectedExecutionException e) {
+            this.jobs.remove(id);
+            if (this.executor.isShutdown()) {
+                throw new ExcelException("The export jobs are closed");
+            }
+            throw new ExcelException("Too many export jobs, " + this.executor.getQueue().size() + " jobs are waiting");
+        }
+        return job;
+    }
+
+    private <W extends ExcelBaseWriter> void run(ExcelExportJob job, Supplier<W> writerFactory, BiConsumer<W, ExcelExportJob> recipe) {
+        if (!job.start()) {
+            return;
+        }
+        W writer = null;
+        try {
+            Files.createDirectories(job.getDirectory().toPath());
+            writer = writerFactory.get();
+            recipe.accept(writer, job);
+            writer.flushToLocal(job.getDirectory().getAbsolutePath());
+            File[] files = job.getDirectory().listFiles(File::isFile);
+            if (files == null || files.length == 0) {
+                job.finish(JobStatus.FAILED, null, new ExcelException("No file is written, the flush is cancelled by a workbook listener"));
+                return;
+            }
+            job.finish(JobStatus.DONE, files[0], null);
+        } catch (Throwable e) {
+            job.finish(JobStatus.FAILED, null, e);
+        } finally {
+            if (writer != null && job.getStatus() != JobStatus.DONE) {
+                writer.close();
+            }
+            job.stop();
+            if (!this.jobs.containsKey(job.getId())) {
+                delete(job.getDirectory().toPath());
+            }
+        }
+    }
+
+    /**
+     * Get the job
+     *
+     * @param id Job id
+     * @return Export job, null if there is no such job
+     */
+    public ExcelExportJob getJob(String id) {
+        return this.jobs.get(id);
+    }
+
+    /**
+     * Get all jobs that are not removed
+     *
+     * @return Export jobs
+     */
+    public Collection<ExcelExportJob> getJobs() {
+        return Collections.unmodifiableCollection(this.jobs.values());
+    }
+
+    /**
+     * Download the file of a done job
+     *
+     * @param id       Job id
+     * @param response response
+     * @throws ExcelException If the job does not exist or is not done
+     */
+    public void transferToNetwork(String id, HttpServletResponse response) {
+        ExcelExportJob job = this.jobs.get(id);
+        if (job == null) {
+            throw new ExcelException("Export job " + id + " was not found");
+        }
+        if (job.getStatus() != JobStatus.DONE) {
+            throw new ExcelException("Export job " + id + " is " + job.getStatus() + ", the file can only be downloaded when it is done");
+        }
+        try {
+            ExcelFactory.transferToNetwork(job.getFile(), job.getFile().getName(), response);
+        } catch (IOException e) {
+            throw new ExcelException("Failed to download the file of export job " + id + ", " + e.getMessage());
+        }
+    }
+
+    /**
+     * Remove the job and delete its file, a job that is not finished is cancelled first.
+     * the file of a job that is still running is deleted when the job returns
+     *
+     * @param id Job id
+     * @return true if the job is removed
+     */
+    public boolean remove(String id) {
+        ExcelExportJob job = this.jobs.remove(id);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        if (!job.isRunning()) {
+            delete(job.getDirectory().toPath());
+        }
+        return true;
+    }
+
+    /**
+     * Remove the finished jobs that finished before the time
+     *
+     * @param finishedBefore Time in milliseconds
+     * @return Number of removed jobs
+     */
+    public int removeFinished(long finishedBefore) {
+        int removed = 0;
+        for (ExcelExportJob job : new ArrayList<>(this.jobs.values())) {
+            if (job.getStatus().isFinished() && job.getFinishTime() < finishedBefore && this.remove(job.getId())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Shut down the executor, the running jobs are interrupted and their files are kept,
+     * the jobs that are still queued are cancelled and their directories are deleted
+     */
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+        for (ExcelExportJob job : this.jobs.values()) {
+            if (job.cancelQueued()) {
+                delete(job.getDirectory().toPath());
+            }
+        }
+    }
+
+    private static void delete(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -10,8 +10,13 @@ import cn.gjing.excel.base.listener.read.ExcelReadListener;
 import cn.gjing.excel.base.meta.ExcelInitializerMeta;
 import cn.gjing.excel.base.meta.ExcelType;
 import cn.gjing.excel.base.meta.ExecMode;
+import cn.gjing.excel.base.meta.ReadEngine;
 import cn.gjing.excel.executor.read.core.ExcelBaseReadExecutor;
 import cn.gjing.excel.executor.read.core.ExcelClassReadExecutor;
+import cn.gjing.excel.executor.read.event.ExcelEventReader;
+import cn.gjing.excel.executor.read.event.XlsEventReader;
+import cn.gjing.excel.executor.read.event.XlsxEventReader;
+import com.github.pjfanning.xlsx.SharedStringsImplementationType;
 import com.github.pjfanning.xlsx.StreamingReader;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.openxml4j.exceptions.NotOfficeXmlFileException;
@@ -31,6 +36,11 @@ public abstract class ExcelBaseReader<R> {
     protected ExcelReaderContext<R> context;
     protected InputStream inputStream;
     protected ExcelBaseReadExecutor<R> baseReadExecutor;
+
+    /**
+     * Event model reader, null if the file is read through the POI user model
+     */
+    protected ExcelEventReader eventReader;
     protected final String defaultSheetName = "Sheet1";
 
     public ExcelBaseReader(ExcelReaderContext<R> context, InputStream inputStream, ExcelType excelType, Excel excel, ExecMode execMode) {
@@ -51,6 +61,9 @@ public abstract class ExcelBaseReader<R> {
             if (this.context.getWorkbook() != null) {
                 this.context.getWorkbook().close();
             }
+            if (this.eventReader != null) {
+                this.eventReader.close();
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -59,6 +72,15 @@ public abstract class ExcelBaseReader<R> {
     private void chooseResolver(ExcelType excelType, Excel excel) {
         switch (excelType) {
             case XLS:
+                if (excel.readEngine() == ReadEngine.EVENT_MODEL) {
+                    try {
+                        this.eventReader = new XlsEventReader(this.inputStream, excel.bufferSize());
+                    } catch (RuntimeException e) {
+                        this.finish();
+                        throw e;
+                    }
+                    break;
+                }
                 try {
                     this.context.setWorkbook(new HSSFWorkbook(this.inputStream));
                 } catch (NotOLE2FileException | OfficeXmlFileException e) {
@@ -69,14 +91,30 @@ public abstract class ExcelBaseReader<R> {
                 }
                 break;
             case XLSX:
+                if (excel.readEngine() == ReadEngine.EVENT_MODEL) {
+                    if (excel.sstTempFile() && excel.sstCacheSize() < 0) {
+                        this.finish();
+                        throw new ExcelException("Invalid shared strings cache size " + excel.sstCacheSize() + ", it must not be negative");
+                    }
+                    try {
+                        this.eventReader = new XlsxEventReader(this.inputStream, excel.bufferSize(), excel.sstTempFile() ? excel.sstCacheSize() : -1);
+                    } catch (RuntimeException e) {
+                        this.finish();
+                        throw e;
+                    }
+                    break;
+                }
                 Workbook workbook;
                 try {
-                    workbook = StreamingReader.builder()
+                    StreamingReader.Builder builder = StreamingReader.builder()
                             .rowCacheSize(excel.cacheRow())
                             .bufferSize(excel.bufferSize())
                             .setReadShapes(excel.shape())
-                            .setReadHyperlinks(excel.hyperlink())
-                            .open(this.inputStream);
+                            .setReadHyperlinks(excel.hyperlink());
+                    if (excel.sstTempFile()) {
+                        builder.setSharedStringsImplementationType(SharedStringsImplementationType.TEMP_FILE_BACKED);
+                    }
+                    workbook = builder.open(this.inputStream);
                 } catch (NotOfficeXmlFileException e) {
                     this.finish();
                     e.printStackTrace();
@@ -87,7 +125,7 @@ public abstract class ExcelBaseReader<R> {
             default:
                 throw new ExcelException("Excel type invalid");
         }
-        this.baseReadExecutor = new ExcelClassReadExecutor<>(this.context);
+        this.baseReadExecutor = new ExcelClassReadExecutor<>(this.context, this.eventReader);
     }
 
     @SuppressWarnings("unchecked")
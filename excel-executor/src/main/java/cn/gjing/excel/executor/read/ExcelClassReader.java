@@ -4,6 +4,7 @@ import cn.gjing.excel.base.annotation.Excel;
 import cn.gjing.excel.base.context.ExcelReaderContext;
 import cn.gjing.excel.base.exception.ExcelException;
 import cn.gjing.excel.base.exception.ExcelTemplateException;
+import cn.gjing.excel.base.listener.read.ExcelBatchReadListener;
 import cn.gjing.excel.base.listener.read.ExcelReadListener;
 import cn.gjing.excel.base.listener.read.ExcelResultReadListener;
 import cn.gjing.excel.base.meta.ExcelType;
@@ -12,7 +13,13 @@ import cn.gjing.excel.base.meta.WRMode;
 import org.springframework.util.StringUtils;
 
 import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Class reading mode to generate objects for each row in the Excel file
@@ -75,6 +82,82 @@ public final class ExcelClassReader<R> extends ExcelBaseReader<R> {
         return this;
     }
 
+    /**
+     * Lazily read excel, each row is read and mapped only when the next object is requested.
+     * By default, the index of the first row of Sheet is used as the index of the table head
+     *
+     * @return Iterator of the objects generated for each row
+     */
+    public Iterator<R> iterator() {
+        return this.iterator(0, this.defaultSheetName);
+    }
+
+    /**
+     * Lazily read excel, each row is read and mapped only when the next object is requested.
+     *
+     * @param headerIndex The subscript of the table header. If there are multiple levels of table headers,
+     *                    set the subscript of the bottom level of the table header. The index starts at 0
+     * @return Iterator of the objects generated for each row
+     */
+    public Iterator<R> iterator(int headerIndex) {
+        return this.iterator(headerIndex, this.defaultSheetName);
+    }
+
+    /**
+     * Lazily read the specified sheet, each row is read and mapped only when the next object is requested.
+     * The subscribed result and batch listeners are not notified, the objects are only returned by the iterator.
+     * Call {@link #finish()} to release resources after use
+     *
+     * @param headerIndex The subscript of the table header. If there are multiple levels of table headers,
+     *                    set the subscript of the bottom level of the table header. The index starts at 0
+     * @param sheetName   Excel Sheet name
+     * @return Iterator of the objects generated for each row
+     */
+    public Iterator<R> iterator(int headerIndex, String sheetName) {
+        try {
+            return super.baseReadExecutor.iterator(headerIndex, sheetName);
+        } catch (Exception e) {
+            super.finish();
+            throw e;
+        }
+    }
+
+    /**
+     * Lazily read excel as a stream.
+     * By default, the index of the first row of Sheet is used as the index of the table head
+     *
+     * @return Stream of the objects generated for each row
+     */
+    public Stream<R> stream() {
+        return this.stream(0, this.defaultSheetName);
+    }
+
+    /**
+     * Lazily read excel as a stream.
+     *
+     * @param headerIndex The subscript of the table header. If there are multiple levels of table headers,
+     *                    set the subscript of the bottom level of the table header. The index starts at 0
+     * @return Stream of the objects generated for each row
+     */
+    public Stream<R> stream(int headerIndex) {
+        return this.stream(headerIndex, this.defaultSheetName);
+    }
+
+    /**
+     * Lazily read the specified sheet as a stream, rows after a short-circuiting operation are never read.
+     * The resources are released when the stream is closed, so use it with try-with-resources
+     *
+     * @param headerIndex The subscript of the table header. If there are multiple levels of table headers,
+     *                    set the subscript of the bottom level of the table header. The index starts at 0
+     * @param sheetName   Excel Sheet name
+     * @return Stream of the objects generated for each row
+     */
+    public Stream<R> stream(int headerIndex, String sheetName) {
+        Iterator<R> iterator = this.iterator(headerIndex, sheetName);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(super::finish);
+    }
+
     /**
      * Whether to read all rows before the header
      *
@@ -150,6 +233,57 @@ public final class ExcelClassReader<R> extends ExcelBaseReader<R> {
         return this;
     }
 
+    /**
+     * Subscribe to the data in fixed size batches while importing,
+     * only the rows of the current batch are held in memory
+     *
+     * @param batchSize              Number of rows in each batch, must be greater than 0
+     * @param excelBatchReadListener batchReadListener
+     * @return this
+     */
+    public ExcelClassReader<R> subscribe(int batchSize, ExcelBatchReadListener<R> excelBatchReadListener) {
+        if (batchSize < 1) {
+            super.finish();
+            throw new ExcelException("batchSize must be greater than 0");
+        }
+        super.context.setBatchSize(batchSize);
+        super.context.setBatchReadListener(excelBatchReadListener);
+        return this;
+    }
+
+    /**
+     * Map the rows to objects in parallel when {@link #read} is called.
+     * The current thread pulls the rows from the sheet, a pool of the specified number of threads
+     * instantiates, validates and converts the objects, and the objects are handed to the row listeners
+     * and subscribers in the original row order. The cell and empty read listeners are triggered on
+     * the worker threads and must be thread safe. The pool is shut down after the read
+     *
+     * @param parallelism Number of worker threads, 1 to read serially
+     * @return this
+     */
+    public ExcelClassReader<R> parallel(int parallelism) {
+        return this.parallel(null, parallelism);
+    }
+
+    /**
+     * Map the rows to objects in parallel on the specified thread pool when {@link #read} is called.
+     * The pool is not shut down by the reader
+     *
+     * @param executor    Thread pool that maps rows to objects
+     * @param parallelism Maximum number of rows mapped at the same time, 1 to read serially
+     * @return this
+     * @see #parallel(int)
+     */
+    public ExcelClassReader<R> parallel(ExecutorService executor, int parallelism) {
+        if (parallelism < 1) {
+            super.finish();
+            throw new ExcelException("parallelism must be greater than 0");
+        }
+        super.context.setParallelism(parallelism);
+        super.context.setParallelExecutor(executor);
+        return this;
+    }
+
     /**
      * Set excel import mode
      *
@@ -1,11 +1,15 @@
 package cn.gjing.excel.executor.read.core;
 
+import cn.gjing.excel.base.ExcelFieldProperty;
 import cn.gjing.excel.base.context.ExcelReaderContext;
 import cn.gjing.excel.base.exception.ExcelException;
 import cn.gjing.excel.base.exception.ExcelTemplateException;
 import cn.gjing.excel.base.meta.RowType;
+import cn.gjing.excel.base.meta.WRMode;
 import cn.gjing.excel.base.util.ExcelUtils;
 import cn.gjing.excel.base.util.ParamUtils;
+import cn.gjing.excel.executor.read.event.EventCell;
+import cn.gjing.excel.executor.read.event.ExcelEventReader;
 import cn.gjing.excel.executor.util.ListenerChain;
 import com.github.pjfanning.xlsx.exceptions.MissingSheetException;
 import com.github.pjfanning.xlsx.impl.StreamingWorkbook;
@@ -13,6 +17,10 @@ import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * Excel base reader executor
  *
@@ -22,8 +30,23 @@ public abstract class ExcelBaseReadExecutor<R> {
     protected final ExcelReaderContext<R> context;
     protected boolean saveCurrentRowObj;
 
+    /**
+     * Event model reader, null if the file is read through the workbook of the context
+     */
+    protected final ExcelEventReader eventReader;
+
+    /**
+     * Name of the sheet currently read by the event model reader
+     */
+    protected String sheetName;
+
     public ExcelBaseReadExecutor(ExcelReaderContext<R> context) {
+        this(context, null);
+    }
+
+    public ExcelBaseReadExecutor(ExcelReaderContext<R> context, ExcelEventReader eventReader) {
         this.context = context;
+        this.eventReader = eventReader;
     }
 
     /**
@@ -34,6 +57,15 @@ public abstract class ExcelBaseReadExecutor<R> {
      */
     public abstract void read(int headerIndex, String sheetName);
 
+    /**
+     * Lazily import excel, each body row is read only when the next object is requested
+     *
+     * @param headerIndex Excel header index
+     * @param sheetName   sheetName
+     * @return Iterator of the objects generated for each row
+     */
+    public abstract Iterator<R> iterator(int headerIndex, String sheetName);
+
     /**
      * Read head row
      *
@@ -43,9 +75,9 @@ public abstract class ExcelBaseReadExecutor<R> {
     protected boolean readHeader(Row row) {
         for (Cell cell : row) {
             Object value = this.getValue(null, cell, true, false);
-            this.context.getHeadNames().add(ListenerChain.doReadCell(this.context.getListenerCache(), value, cell, row.getRowNum(), cell.getColumnIndex(), RowType.HEAD));
+            this.context.getHeadNames().add(ListenerChain.doReadCell(this.context.getListenerTable(), value, cell, row.getRowNum(), cell.getColumnIndex(), RowType.HEAD));
         }
-        return ListenerChain.doReadRow(this.context.getListenerCache(), null, row, RowType.HEAD);
+        return ListenerChain.doReadRow(this.context.getListenerTable(), null, row, RowType.HEAD);
     }
 
     /**
@@ -58,9 +90,9 @@ public abstract class ExcelBaseReadExecutor<R> {
         if (this.context.isReadOther()) {
             for (Cell cell : row) {
                 Object value = this.getValue(null, cell, false, false);
-                ListenerChain.doReadCell(this.context.getListenerCache(), value, cell, row.getRowNum(), cell.getColumnIndex(), RowType.OTHER);
+                ListenerChain.doReadCell(this.context.getListenerTable(), value, cell, row.getRowNum(), cell.getColumnIndex(), RowType.OTHER);
             }
-            return ListenerChain.doReadRow(this.context.getListenerCache(), null, row, RowType.OTHER);
+            return ListenerChain.doReadRow(this.context.getListenerTable(), null, row, RowType.OTHER);
         }
         return true;
     }
@@ -71,6 +103,13 @@ public abstract class ExcelBaseReadExecutor<R> {
      * @param sheetName Sheet name
      */
     protected void checkSheet(String sheetName) {
+        if (this.eventReader != null) {
+            if (!this.eventReader.containsSheet(sheetName)) {
+                throw new ExcelException("The " + sheetName + " is not found in the workbook");
+            }
+            this.sheetName = sheetName;
+            return;
+        }
         if (this.context.getWorkbook() instanceof StreamingWorkbook) {
             try {
                 this.context.setSheet(this.context.getWorkbook().getSheet(sheetName));
@@ -89,19 +128,59 @@ public abstract class ExcelBaseReadExecutor<R> {
     protected void validTemplate() {
         if (this.context.isCheckTemplate()) {
             String key = "excelUnqSheet";
-            if (this.context.getWorkbook().getSheetIndex(key) == -1) {
-                throw new ExcelTemplateException();
+            Iterator<Row> rowIterator;
+            if (this.eventReader != null) {
+                if (!this.eventReader.containsSheet(key)) {
+                    throw new ExcelTemplateException();
+                }
+                rowIterator = this.eventReader.rowIterator(key, 0, null);
+            } else {
+                if (this.context.getWorkbook().getSheetIndex(key) == -1) {
+                    throw new ExcelTemplateException();
+                }
+                rowIterator = this.context.getWorkbook().getSheet(key).rowIterator();
             }
-            for (Row row : this.context.getWorkbook().getSheet(key)) {
-                if (!ParamUtils.equals(ParamUtils.encodeMd5(this.context.getIdCard()), row.getCell(0).getStringCellValue())) {
+            if (rowIterator.hasNext()) {
+                if (!ParamUtils.equals(ParamUtils.encodeMd5(this.context.getIdCard()), rowIterator.next().getCell(0).getStringCellValue())) {
                     throw new ExcelTemplateException();
                 }
-                break;
             }
             this.context.setCheckTemplate(false);
         }
     }
 
+    /**
+     * Iterate the rows of the current sheet
+     *
+     * @param headerIndex Excel header index
+     * @return Row iterator
+     */
+    protected Iterator<Row> rowIterator(int headerIndex) {
+        if (this.eventReader == null) {
+            return this.context.getSheet().rowIterator();
+        }
+        BitSet columns = new BitSet();
+        List<ExcelFieldProperty> fieldProperties = this.context.getFieldProperties();
+        for (int i = 0; i < fieldProperties.size(); i++) {
+            columns.set(this.context.getWrMode() == WRMode.INDEX ? fieldProperties.get(i).getIndex() : i);
+        }
+        return this.eventReader.rowIterator(this.sheetName, headerIndex, columns);
+    }
+
+    /**
+     * Get the value of the cell, the cells of the event model readers are already decoded
+     *
+     * @param cell cell
+     * @param trim Remove white space on both sides of the string
+     * @return value
+     */
+    protected static Object getCellValue(Cell cell, boolean trim) {
+        if (cell instanceof EventCell) {
+            return ((EventCell) cell).getValue(trim);
+        }
+        return ExcelUtils.getCellValue(cell, cell.getCellType(), trim);
+    }
+
     /**
      * Get the value of the cell
      *
@@ -112,10 +191,10 @@ public abstract class ExcelBaseReadExecutor<R> {
      * @return value
      */
     protected Object getValue(R r, Cell cell, boolean trim, boolean required) {
-        Object cellValue = ExcelUtils.getCellValue(cell, cell.getCellType(), trim);
+        Object cellValue = getCellValue(cell, trim);
         if (cellValue == null) {
             if (required) {
-                this.saveCurrentRowObj = ListenerChain.doReadEmpty(this.context.getListenerCache(), r, cell.getRowIndex(), cell.getColumnIndex());
+                this.saveCurrentRowObj = ListenerChain.doReadEmpty(this.context.getListenerTable(), r, cell.getRowIndex(), cell.getColumnIndex());
             }
         }
         return cellValue;
@@ -1,16 +1,17 @@
 package cn.gjing.excel.executor.read.core;
 
-import cn.gjing.excel.base.ExcelFieldProperty;
-import cn.gjing.excel.base.annotation.ExcelAssert;
-import cn.gjing.excel.base.annotation.ExcelDataConvert;
-import cn.gjing.excel.base.annotation.ExcelField;
 import cn.gjing.excel.base.context.ExcelReaderContext;
+import cn.gjing.excel.base.convert.ExcelTypeConverter;
 import cn.gjing.excel.base.exception.ExcelAssertException;
 import cn.gjing.excel.base.exception.ExcelException;
-import cn.gjing.excel.base.meta.ELMeta;
+import cn.gjing.excel.base.listener.ExcelListenerTable;
+import cn.gjing.excel.base.meta.ExcelConverterMeta;
 import cn.gjing.excel.base.meta.RowType;
 import cn.gjing.excel.base.meta.WRMode;
+import cn.gjing.excel.executor.read.event.ExcelEventReader;
 import cn.gjing.excel.executor.util.BeanUtils;
+import cn.gjing.excel.executor.util.ExcelFieldPlan;
+import cn.gjing.excel.executor.util.ExcelVariablePlan;
 import cn.gjing.excel.executor.util.JsonUtils;
 import cn.gjing.excel.executor.util.ListenerChain;
 import org.apache.poi.ss.usermodel.Cell;
@@ -18,13 +19,8 @@ import org.apache.poi.ss.usermodel.Row;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
-import java.lang.reflect.Field;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Import data to generate the specified class object.
@@ -33,16 +29,31 @@ import java.util.List;
  * @author Gjing
  **/
 public class ExcelClassReadExecutor<R> extends ExcelBaseReadExecutor<R> {
-
     public ExcelClassReadExecutor(ExcelReaderContext<R> context) {
         super(context);
     }
 
+    public ExcelClassReadExecutor(ExcelReaderContext<R> context, ExcelEventReader eventReader) {
+        super(context, eventReader);
+    }
+
     @Override
     public void read(int headerIndex, String sheetName) {
         super.validTemplate();
         super.checkSheet(sheetName);
-        this.reader(headerIndex, super.context.getResultReadListener() == null ? null : new ArrayList<>(), new StandardEvaluationContext());
+        List<R> dataList = super.context.getResultReadListener() == null ? null : new ArrayList<>();
+        if (super.context.getParallelism() > 1) {
+            this.parallelReader(headerIndex, dataList);
+        } else {
+            this.reader(headerIndex, dataList);
+        }
+    }
+
+    @Override
+    public Iterator<R> iterator(int headerIndex, String sheetName) {
+        super.validTemplate();
+        super.checkSheet(sheetName);
+        return new RowIterator(headerIndex);
     }
 
     /**
@@ -51,14 +62,15 @@ public class ExcelClassReadExecutor<R> extends ExcelBaseReadExecutor<R> {
      * @param headerIndex Excel header index
      * @param dataList    All data
      */
-    private void reader(int headerIndex, List<R> dataList, EvaluationContext context) {
+    private void reader(int headerIndex, List<R> dataList) {
         R r;
         boolean continueRead = true;
-        ListenerChain.doReadBefore(super.context.getListenerCache());
-        for (Row row : super.context.getSheet()) {
-            if (!continueRead) {
-                break;
-            }
+        ResultCollector collector = new ResultCollector(dataList);
+        RowMapper rowMapper = new RowMapper(BeanUtils.getFieldPlans(super.context.getFieldProperties()));
+        ListenerChain.doReadBefore(super.context.getListenerTable());
+        Iterator<Row> rowIterator = super.rowIterator(headerIndex);
+        while (continueRead && rowIterator.hasNext()) {
+            Row row = rowIterator.next();
             int rowNum = row.getRowNum();
             if (rowNum < headerIndex) {
                 continueRead = super.readOther(row);
@@ -68,117 +80,377 @@ public class ExcelClassReadExecutor<R> extends ExcelBaseReadExecutor<R> {
                 continueRead = super.readHeader(row);
                 continue;
             }
-            super.saveCurrentRowObj = true;
-            try {
-                r = this.context.getExcelEntity().newInstance();
-                context.setVariable(super.context.getExcelEntity().getSimpleName(), r);
-            } catch (InstantiationException | IllegalAccessException e) {
-                throw new ExcelException("Class object instantiation failed, " + e.getMessage());
+            r = rowMapper.map(row);
+            if (r != null) {
+                continueRead = collector.collect(r, row);
             }
-            for (int fieldIndex = 0, size = super.context.getFieldProperties().size(); fieldIndex < size; fieldIndex++) {
-                ExcelFieldProperty property = this.context.getFieldProperties().get(fieldIndex);
-                int colNum = super.context.getWrMode() == WRMode.INDEX ? property.getIndex() : fieldIndex;
-                ExcelField excelField = property.getField().getAnnotation(ExcelField.class);
-                Cell valueCell = row.getCell(colNum);
-                Object value;
-                if (valueCell != null) {
-                    value = super.getValue(r, valueCell, excelField.trim(), excelField.required());
-                    if (!super.saveCurrentRowObj) {
-                        break;
-                    }
-                    context.setVariable(property.getField().getName(), value);
-                    this.assertValue(context, row, colNum, property.getField(), excelField);
-                    value = this.convert(value, context, property.getField().getAnnotation(ExcelDataConvert.class));
-                    value = ListenerChain.doReadCell(super.context.getListenerCache(), value, valueCell, rowNum, colNum, RowType.BODY);
-                } else {
-                    if (excelField.required()) {
-                        super.saveCurrentRowObj = ListenerChain.doReadEmpty(this.context.getListenerCache(), r, rowNum, colNum);
-                        if (!super.saveCurrentRowObj) {
-                            break;
-                        }
-                    }
-                    context.setVariable(property.getField().getName(), null);
-                    this.assertValue(context, row, colNum, property.getField(), excelField);
-                    value = this.convert(null, context, property.getField().getAnnotation(ExcelDataConvert.class));
-                    value = ListenerChain.doReadCell(super.context.getListenerCache(), value, null, rowNum, colNum, RowType.BODY);
+        }
+        collector.finish();
+    }
+
+    /**
+     * Start read in parallel.
+     * the current thread pulls the rows from the sheet in order, the body rows are mapped to objects by the
+     * worker threads, and the objects are handed to the row listeners and subscribers in the original row order.
+     * at most parallelism * 4 rows are in flight at the same time
+     *
+     * @param headerIndex Excel header index
+     * @param dataList    All data
+     */
+    private void parallelReader(int headerIndex, List<R> dataList) {
+        int parallelism = super.context.getParallelism();
+        ExecutorService executor = super.context.getParallelExecutor();
+        boolean ownExecutor = executor == null;
+        if (ownExecutor) {
+            executor = Executors.newFixedThreadPool(parallelism);
+        }
+        ExcelFieldPlan[] plans = BeanUtils.getFieldPlans(super.context.getFieldProperties());
+        Queue<RowMapper> rowMappers = new ConcurrentLinkedQueue<>();
+        Deque<Future<R>> window = new ArrayDeque<>(parallelism * 4);
+        Deque<Row> windowRows = new ArrayDeque<>(parallelism * 4);
+        ResultCollector collector = new ResultCollector(dataList);
+        boolean continueRead = true;
+        try {
+            ListenerChain.doReadBefore(super.context.getListenerTable());
+            Iterator<Row> rowIterator = super.rowIterator(headerIndex);
+            while (continueRead && rowIterator.hasNext()) {
+                Row row = rowIterator.next();
+                int rowNum = row.getRowNum();
+                if (rowNum < headerIndex) {
+                    continueRead = super.readOther(row);
+                    continue;
                 }
-                if (value != null) {
-                    this.setValue(r, property.getField(), value, rowNum, colNum);
+                if (rowNum == headerIndex) {
+                    continueRead = super.readHeader(row);
+                    continue;
                 }
-                context.setVariable(property.getField().getName(), value);
-            }
-            if (super.saveCurrentRowObj) {
-                continueRead = ListenerChain.doReadRow(super.context.getListenerCache(), r, row, RowType.BODY);
-                if (dataList != null) {
-                    dataList.add(r);
+                if (window.size() == parallelism * 4) {
+                    continueRead = this.collect(window, windowRows, collector);
                 }
+                window.add(executor.submit(() -> {
+                    RowMapper rowMapper = rowMappers.poll();
+                    if (rowMapper == null) {
+                        rowMapper = new RowMapper(plans);
+                    }
+                    try {
+                        return rowMapper.map(row);
+                    } finally {
+                        rowMappers.offer(rowMapper);
+                    }
+                }));
+                windowRows.add(row);
+            }
+            while (continueRead && !window.isEmpty()) {
+                continueRead = this.collect(window, windowRows, collector);
+            }
+        } finally {
+            window.forEach(e -> e.cancel(true));
+            if (ownExecutor) {
+                executor.shutdownNow();
             }
         }
-        ListenerChain.doReadFinish(super.context.getListenerCache());
-        if (this.context.getResultReadListener() != null) {
-            this.context.getResultReadListener().notify(dataList);
+        collector.finish();
+    }
+
+    /**
+     * Wait for the earliest submitted row and collect its object
+     *
+     * @param window     Mapping results of the rows in flight
+     * @param windowRows Rows in flight
+     * @param collector  Result collector
+     * @return Continue read next row
+     */
+    private boolean collect(Deque<Future<R>> window, Deque<Row> windowRows, ResultCollector collector) {
+        Row row = windowRows.poll();
+        R r;
+        try {
+            r = window.poll().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelException("Read interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new ExcelException("Read row error, " + e.getCause().getMessage());
         }
+        return r == null || collector.collect(r, row);
     }
 
     /**
      * Data convert
      *
-     * @param value            Attribute values
-     * @param excelDataConvert excelDataConvert
-     * @param context          EL context
+     * @param value    Attribute values
+     * @param context  EL context
+     * @param plan     Field mapping plan
+     * @param rowIndex Current row index
+     * @param colIndex Current col index
      * @return new value
      */
-    private Object convert(Object value, EvaluationContext context, ExcelDataConvert excelDataConvert) {
-        if (excelDataConvert != null && !"".equals(excelDataConvert.readExpr())) {
-            return ELMeta.PARSER.parse(excelDataConvert.readExpr(), context);
+    private Object convert(Object value, EvaluationContext context, ExcelFieldPlan plan, int rowIndex, int colIndex) {
+        if (plan.getFieldConverter() != null) {
+            if (value != null && !plan.getConverterCellType().isInstance(value)) {
+                ExcelTypeConverter<Object, Object> converter = ExcelConverterMeta.INSTANCE.getConverter(value.getClass(), plan.getConverterCellType());
+                if (converter == null) {
+                    throw new ExcelException("unsupported data type, the current cell" + "[row:" + rowIndex + ",column:" + colIndex + "]" + " value type is " + value.getClass().getTypeName() + ", but the converter of " + plan.getField().getName() + " accepts " + plan.getConverterCellType().getTypeName());
+                }
+                value = converter.convert(value);
+            }
+            return plan.getFieldConverter().toField(value);
+        }
+        if (plan.getReadExpr() != null) {
+            return plan.getReadExpr().getValue(context);
         }
         return value;
     }
 
     /**
-     * Set value for the field of the object
+     * Cell value assert
      *
-     * @param o        object
-     * @param field    field
-     * @param value    value
-     * @param colIndex current col index
-     * @param rowIndex current row index
+     * @param context  EL context
+     * @param row      Current row
+     * @param colIndex Current col index
+     * @param plan     Field mapping plan
      */
-    private void setValue(R o, Field field, Object value, int rowIndex, int colIndex) {
-        try {
-            if (field.getType() != value.getClass()) {
-                value = JsonUtils.toObj(JsonUtils.toJson(value), field.getType());
+    private void assertValue(EvaluationContext context, Row row, int colIndex, ExcelFieldPlan plan) {
+        if (plan.getAssertExpr() != null) {
+            Boolean test = plan.getAssertExpr().getValue(context, Boolean.class);
+            if (test != null && !test) {
+                throw new ExcelAssertException(plan.getExcelAssert().message(), plan.getExcelField(), plan.getField(), row.getRowNum(), colIndex);
+            }
+        }
+    }
+
+    /**
+     * Lazy row iterator, each body row is read and mapped only when the next object is requested.
+     * the read before listeners are triggered on the first request and the read finish listeners
+     * once the rows are exhausted or a row listener stops reading
+     */
+    private final class RowIterator implements Iterator<R> {
+        private final int headerIndex;
+        private Iterator<Row> rowIterator;
+        private RowMapper rowMapper;
+        private R next;
+        private boolean continueRead = true;
+        private boolean finished;
+
+        RowIterator(int headerIndex) {
+            this.headerIndex = headerIndex;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.next == null && !this.finished) {
+                this.advance();
             }
-            BeanUtils.setFieldValue(o, field, value);
-        } catch (RuntimeException e) {
-            if (field.getType() == LocalDate.class) {
-                BeanUtils.setFieldValue(o, field, LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()).toLocalDate());
-                return;
+            return this.next != null;
+        }
+
+        @Override
+        public R next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            R r = this.next;
+            this.next = null;
+            return r;
+        }
+
+        private void advance() {
+            if (this.rowIterator == null) {
+                this.rowMapper = new RowMapper(BeanUtils.getFieldPlans(context.getFieldProperties()));
+                this.rowIterator = rowIterator(this.headerIndex);
+                ListenerChain.doReadBefore(context.getListenerTable());
             }
-            if (field.getType() == LocalDateTime.class) {
-                BeanUtils.setFieldValue(o, field, LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()));
-                return;
+            while (this.continueRead && this.rowIterator.hasNext()) {
+                Row row = this.rowIterator.next();
+                int rowNum = row.getRowNum();
+                if (rowNum < this.headerIndex) {
+                    this.continueRead = readOther(row);
+                    continue;
+                }
+                if (rowNum == this.headerIndex) {
+                    this.continueRead = readHeader(row);
+                    continue;
+                }
+                R r = this.rowMapper.map(row);
+                if (r != null) {
+                    this.continueRead = ListenerChain.doReadRow(context.getListenerTable(), r, row, RowType.BODY);
+                    this.next = r;
+                    return;
+                }
             }
-            throw new ExcelException("unsupported data type, the current cell" + "[row:" + rowIndex + ",column:" + colIndex + "]" + " value type is " + value.getClass().getTypeName() + ", but " + field.getName() + " is " + field.getType().getTypeName());
+            this.finished = true;
+            ListenerChain.doReadFinish(context.getListenerTable());
         }
     }
 
     /**
-     * Cell value assert
-     *
-     * @param context    EL context
-     * @param row        Current row
-     * @param colIndex   Current col index
-     * @param field      Current field
-     * @param excelField ExcelFiled annotation on current filed
+     * Collects the objects of the rows in the original row order,
+     * notifies the row listeners and the result and batch subscribers
      */
-    private void assertValue(EvaluationContext context, Row row, int colIndex, Field field, ExcelField excelField) {
-        ExcelAssert excelAssert = field.getAnnotation(ExcelAssert.class);
-        if (excelAssert != null) {
-            Boolean test = ELMeta.PARSER.parse(excelAssert.expr(), context, Boolean.class);
-            if (test != null && !test) {
-                throw new ExcelAssertException(excelAssert.message(), excelField, field, row.getRowNum(), colIndex);
+    private final class ResultCollector {
+        private final List<R> dataList;
+        private final List<R> batchList;
+        private boolean continueBatch = true;
+
+        ResultCollector(List<R> dataList) {
+            this.dataList = dataList;
+            this.batchList = context.getBatchReadListener() == null ? null : new ArrayList<>(context.getBatchSize());
+        }
+
+        /**
+         * Collect the object of a body row
+         *
+         * @param r   Generated object
+         * @param row Current row
+         * @return Continue read next row
+         */
+        boolean collect(R r, Row row) {
+            boolean continueRead = ListenerChain.doReadRow(context.getListenerTable(), r, row, RowType.BODY);
+            if (this.dataList != null) {
+                this.dataList.add(r);
+            }
+            if (this.batchList != null) {
+                this.batchList.add(r);
+                if (this.batchList.size() >= context.getBatchSize()) {
+                    this.continueBatch = context.getBatchReadListener().notify(this.batchList);
+                    continueRead = continueRead && this.continueBatch;
+                    this.batchList.clear();
+                }
+            }
+            return continueRead;
+        }
+
+        /**
+         * Notify the remaining batch, the read finish listeners and the result subscriber
+         */
+        void finish() {
+            if (this.batchList != null && this.continueBatch && !this.batchList.isEmpty()) {
+                context.getBatchReadListener().notify(this.batchList);
+                this.batchList.clear();
+            }
+            ListenerChain.doReadFinish(context.getListenerTable());
+            if (context.getResultReadListener() != null) {
+                context.getResultReadListener().notify(this.dataList);
+            }
+        }
+    }
+
+    /**
+     * Maps body rows to objects.
+     * holds the EL context and the converters chosen for each column, so a mapper must only be used
+     * by one thread at a time
+     */
+    private final class RowMapper {
+        private final ExcelFieldPlan[] plans;
+        private final EvaluationContext evaluationContext = new StandardEvaluationContext();
+
+        /**
+         * Variables referenced by the assert and import convert expressions
+         */
+        private final ExcelVariablePlan variables;
+
+        /**
+         * Whether the generated object is referenced by the expressions
+         */
+        private final boolean entityReferenced;
+
+        /**
+         * Cell value type last converted for each column
+         */
+        private final Class<?>[] sourceTypes;
+
+        /**
+         * Converter chosen for each column according to the cell value type and field type
+         */
+        private final ExcelTypeConverter<Object, Object>[] typeConverters;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        RowMapper(ExcelFieldPlan[] plans) {
+            this.plans = plans;
+            this.variables = ExcelVariablePlan.ofRead(plans);
+            this.entityReferenced = this.variables.isReferenced(context.getExcelEntity().getSimpleName());
+            this.sourceTypes = new Class<?>[plans.length];
+            this.typeConverters = new ExcelTypeConverter[plans.length];
+        }
+
+        /**
+         * Generate the object of a body row
+         *
+         * @param row Current row
+         * @return Generated object, null if the row is discarded
+         */
+        R map(Row row) {
+            R r;
+            int rowNum = row.getRowNum();
+            ExcelListenerTable listeners = context.getListenerTable();
+            try {
+                r = context.getExcelEntity().newInstance();
+                if (this.entityReferenced) {
+                    this.evaluationContext.setVariable(context.getExcelEntity().getSimpleName(), r);
+                }
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new ExcelException("Class object instantiation failed, " + e.getMessage());
+            }
+            for (int fieldIndex = 0; fieldIndex < this.plans.length; fieldIndex++) {
+                ExcelFieldPlan plan = this.plans[fieldIndex];
+                int colNum = context.getWrMode() == WRMode.INDEX ? context.getFieldProperties().get(fieldIndex).getIndex() : fieldIndex;
+                Cell valueCell = row.getCell(colNum);
+                Object value = valueCell == null ? null : getCellValue(valueCell, plan.isTrim());
+                if (value == null && plan.isRequired() && !ListenerChain.doReadEmpty(listeners, r, rowNum, colNum)) {
+                    return null;
+                }
+                boolean fieldReferenced = this.variables.isFieldReferenced(fieldIndex);
+                if (fieldReferenced) {
+                    this.evaluationContext.setVariable(plan.getField().getName(), value);
+                }
+                assertValue(this.evaluationContext, row, colNum, plan);
+                value = convert(value, this.evaluationContext, plan, rowNum, colNum);
+                value = ListenerChain.doReadCell(listeners, value, valueCell, rowNum, colNum, RowType.BODY);
+                if (value != null) {
+                    this.setValue(r, plan, fieldIndex, value, rowNum, colNum);
+                }
+                if (fieldReferenced) {
+                    this.evaluationContext.setVariable(plan.getField().getName(), value);
+                }
+            }
+            return r;
+        }
+
+        /**
+         * Set value for the field of the object.
+         * if the value type differs from the field type, the value is converted by the converter
+         * chosen once per column from {@link ExcelConverterMeta}
+         *
+         * @param o          object
+         * @param plan       Field mapping plan
+         * @param fieldIndex Current field index
+         * @param value      value
+         * @param rowIndex   current row index
+         * @param colIndex   current col index
+         */
+        private void setValue(R o, ExcelFieldPlan plan, int fieldIndex, Object value, int rowIndex, int colIndex) {
+            if (!plan.getBoxedType().isInstance(value)) {
+                Class<?> valueType = value.getClass();
+                if (this.sourceTypes[fieldIndex] != valueType) {
+                    this.typeConverters[fieldIndex] = ExcelConverterMeta.INSTANCE.getConverter(valueType, plan.getType());
+                    this.sourceTypes[fieldIndex] = valueType;
+                }
+                ExcelTypeConverter<Object, Object> converter = this.typeConverters[fieldIndex];
+                try {
+                    value = converter == null ? JsonUtils.toObj(JsonUtils.toJson(value), plan.getType()) : converter.convert(value);
+                } catch (RuntimeException e) {
+                    throw new ExcelException("unsupported data type, the current cell" + "[row:" + rowIndex + ",column:" + colIndex + "]" + " value type is " + valueType.getTypeName() + ", but " + plan.getField().getName() + " is " + plan.getType().getTypeName());
+                }
+                if (value == null && plan.getType().isPrimitive()) {
+                    return;
+                }
             }
+            plan.getAccessor().set(o, value);
         }
     }
 }
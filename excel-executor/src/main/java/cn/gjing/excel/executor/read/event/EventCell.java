@@ -0,0 +1,309 @@
+package cn.gjing.excel.executor.read.event;
+
+import org.apache.poi.ss.formula.FormulaParseException;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Read-only cell built by the event model readers.
+ * the cell value is decoded once when the row is parsed, all modification methods throw {@link UnsupportedOperationException}
+ *
+ * @author Gjing
+ **/
+public final class EventCell implements Cell {
+    private final EventRow row;
+    private final int columnIndex;
+    CellType cellType = CellType.BLANK;
+
+    /**
+     * Cached result type, only for formula cells
+     */
+    CellType resultType;
+
+    /**
+     * String, Double, Boolean or the Byte error code according to the cell type
+     */
+    Object value;
+    String formula;
+    CellStyle cellStyle;
+
+    /**
+     * Whether the numeric value is a date according to the cell style
+     */
+    boolean dateFormatted;
+    boolean date1904;
+
+    EventCell(EventRow row, int columnIndex) {
+        this.row = row;
+        this.columnIndex = columnIndex;
+    }
+
+    /**
+     * Get the value of the cell, same as {@link cn.gjing.excel.base.util.ExcelUtils#getCellValue}
+     * without looking up the cell style again
+     *
+     * @param trim Remove white space on both sides of the string
+     * @return value
+     */
+    public Object getValue(boolean trim) {
+        switch (this.getValueType()) {
+            case BOOLEAN:
+                return this.value;
+            case NUMERIC:
+                if (this.dateFormatted) {
+                    return DateUtil.getJavaDate((Double) this.value, this.date1904);
+                }
+                return this.value;
+            case STRING:
+                return trim ? ((String) this.value).trim() : this.value;
+            default:
+                return null;
+        }
+    }
+
+    private CellType getValueType() {
+        return this.cellType == CellType.FORMULA ? this.resultType : this.cellType;
+    }
+
+    private IllegalStateException typeMismatch(CellType expected) {
+        return new IllegalStateException("Cannot get a " + expected + " value from a " + this.getValueType() + " cell");
+    }
+
+    @Override
+    public int getColumnIndex() {
+        return this.columnIndex;
+    }
+
+    @Override
+    public int getRowIndex() {
+        return this.row.getRowNum();
+    }
+
+    @Override
+    public Sheet getSheet() {
+        return null;
+    }
+
+    @Override
+    public Row getRow() {
+        return this.row;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void setCellType(CellType cellType) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setBlank() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CellType getCellType() {
+        return this.cellType;
+    }
+
+    @Override
+    public CellType getCachedFormulaResultType() {
+        if (this.cellType != CellType.FORMULA) {
+            throw new IllegalStateException("Only formula cells have cached results");
+        }
+        return this.resultType;
+    }
+
+    @Override
+    public void setCellValue(double value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setCellValue(Date value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setCellValue(LocalDateTime value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setCellValue(Calendar value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setCellValue(RichTextString value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setCellValue(String value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setCellFormula(String formula) throws FormulaParseException, IllegalStateException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeFormula() throws IllegalStateException {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getCellFormula() {
+        if (this.cellType != CellType.FORMULA) {
+            throw this.typeMismatch(CellType.FORMULA);
+        }
+        return this.formula;
+    }
+
+    @Override
+    public double getNumericCellValue() {
+        CellType valueType = this.getValueType();
+        if (valueType == CellType.BLANK) {
+            return 0;
+        }
+        if (valueType != CellType.NUMERIC) {
+            throw this.typeMismatch(CellType.NUMERIC);
+        }
+        return (Double) this.value;
+    }
+
+    @Override
+    public Date getDateCellValue() {
+        if (this.getValueType() == CellType.BLANK) {
+            return null;
+        }
+        return DateUtil.getJavaDate(this.getNumericCellValue(), this.date1904);
+    }
+
+    @Override
+    public LocalDateTime getLocalDateTimeCellValue() {
+        if (this.getValueType() == CellType.BLANK) {
+            return null;
+        }
+        return DateUtil.getLocalDateTime(this.getNumericCellValue(), this.date1904);
+    }
+
+    @Override
+    public RichTextString getRichStringCellValue() {
+        return new XSSFRichTextString(this.getStringCellValue());
+    }
+
+    @Override
+    public String getStringCellValue() {
+        CellType valueType = this.getValueType();
+        if (valueType == CellType.BLANK) {
+            return "";
+        }
+        if (valueType != CellType.STRING) {
+            throw this.typeMismatch(CellType.STRING);
+        }
+        return (String) this.value;
+    }
+
+    @Override
+    public void setCellValue(boolean value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setCellErrorValue(byte value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean getBooleanCellValue() {
+        CellType valueType = this.getValueType();
+        if (valueType == CellType.BLANK) {
+            return false;
+        }
+        if (valueType != CellType.BOOLEAN) {
+            throw this.typeMismatch(CellType.BOOLEAN);
+        }
+        return (Boolean) this.value;
+    }
+
+    @Override
+    public byte getErrorCellValue() {
+        if (this.getValueType() != CellType.ERROR) {
+            throw this.typeMismatch(CellType.ERROR);
+        }
+        return (Byte) this.value;
+    }
+
+    @Override
+    public void setCellStyle(CellStyle style) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CellStyle getCellStyle() {
+        return this.cellStyle;
+    }
+
+    @Override
+    public void setAsActiveCell() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CellAddress getAddress() {
+        return new CellAddress(this.getRowIndex(), this.columnIndex);
+    }
+
+    @Override
+    public void setCellComment(Comment comment) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Comment getCellComment() {
+        return null;
+    }
+
+    @Override
+    public void removeCellComment() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Hyperlink getHyperlink() {
+        return null;
+    }
+
+    @Override
+    public void setHyperlink(Hyperlink link) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeHyperlink() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CellRangeAddress getArrayFormulaRange() {
+        throw new IllegalStateException("Array formulas are not read by the event model");
+    }
+
+    @Override
+    public boolean isPartOfArrayFormulaGroup() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return this.value == null ? "" : this.value.toString();
+    }
+}
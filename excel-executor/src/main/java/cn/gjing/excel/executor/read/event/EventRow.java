@@ -0,0 +1,197 @@
+package cn.gjing.excel.executor.read.event;
+
+import org.apache.poi.ss.usermodel.*;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only row built by the event model readers, holds only the cells that were decoded.
+ * all modification methods throw {@link UnsupportedOperationException}
+ *
+ * @author Gjing
+ **/
+public final class EventRow implements Row {
+    private final int rowNum;
+    private EventCell[] cells = new EventCell[16];
+    private int firstCellNum = -1;
+    private int lastCellNum = -1;
+    private int physicalCells;
+    short height = -1;
+    boolean zeroHeight;
+
+    EventRow(int rowNum) {
+        this.rowNum = rowNum;
+    }
+
+    /**
+     * Create a cell of this row
+     *
+     * @param columnIndex Column index
+     * @return EventCell
+     */
+    EventCell addCell(int columnIndex) {
+        if (columnIndex >= this.cells.length) {
+            this.cells = Arrays.copyOf(this.cells, Math.max(columnIndex + 1, this.cells.length << 1));
+        }
+        EventCell cell = new EventCell(this, columnIndex);
+        if (this.cells[columnIndex] == null) {
+            this.physicalCells++;
+        }
+        this.cells[columnIndex] = cell;
+        if (this.firstCellNum == -1 || columnIndex < this.firstCellNum) {
+            this.firstCellNum = columnIndex;
+        }
+        if (columnIndex >= this.lastCellNum) {
+            this.lastCellNum = columnIndex + 1;
+        }
+        return cell;
+    }
+
+    @Override
+    public Cell createCell(int column) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Cell createCell(int column, CellType type) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeCell(Cell cell) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setRowNum(int rowNum) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int getRowNum() {
+        return this.rowNum;
+    }
+
+    @Override
+    public Cell getCell(int cellnum) {
+        return cellnum < 0 || cellnum >= this.cells.length ? null : this.cells[cellnum];
+    }
+
+    @Override
+    public Cell getCell(int cellnum, MissingCellPolicy policy) {
+        Cell cell = this.getCell(cellnum);
+        switch (policy) {
+            case RETURN_BLANK_AS_NULL:
+                return cell == null || cell.getCellType() == CellType.BLANK ? null : cell;
+            case CREATE_NULL_AS_BLANK:
+                return cell == null ? new EventCell(this, cellnum) : cell;
+            default:
+                return cell;
+        }
+    }
+
+    @Override
+    public short getFirstCellNum() {
+        return (short) this.firstCellNum;
+    }
+
+    @Override
+    public short getLastCellNum() {
+        return (short) this.lastCellNum;
+    }
+
+    @Override
+    public int getPhysicalNumberOfCells() {
+        return this.physicalCells;
+    }
+
+    @Override
+    public void setHeight(short height) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setZeroHeight(boolean zHeight) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean getZeroHeight() {
+        return this.zeroHeight;
+    }
+
+    @Override
+    public void setHeightInPoints(float height) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public short getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public float getHeightInPoints() {
+        return this.height == -1 ? -1 : this.height / 20f;
+    }
+
+    @Override
+    public boolean isFormatted() {
+        return false;
+    }
+
+    @Override
+    public CellStyle getRowStyle() {
+        return null;
+    }
+
+    @Override
+    public void setRowStyle(CellStyle style) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<Cell> cellIterator() {
+        return new Iterator<Cell>() {
+            private int index = firstCellNum == -1 ? lastCellNum : firstCellNum;
+
+            @Override
+            public boolean hasNext() {
+                while (this.index < lastCellNum && cells[this.index] == null) {
+                    this.index++;
+                }
+                return this.index < lastCellNum;
+            }
+
+            @Override
+            public Cell next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return cells[this.index++];
+            }
+        };
+    }
+
+    @Override
+    public Sheet getSheet() {
+        return null;
+    }
+
+    @Override
+    public int getOutlineLevel() {
+        return 0;
+    }
+
+    @Override
+    public void shiftCellsRight(int firstShiftColumnIndex, int lastShiftColumnIndex, int step) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void shiftCellsLeft(int firstShiftColumnIndex, int lastShiftColumnIndex, int step) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,34 @@
+package cn.gjing.excel.executor.read.event;
+
+import org.apache.poi.ss.usermodel.Row;
+
+import java.io.Closeable;
+import java.util.BitSet;
+import java.util.Iterator;
+
+/**
+ * Event model reader, parses the sheet records of the file directly and produces the rows one by one
+ * without building a workbook
+ *
+ * @author Gjing
+ **/
+public interface ExcelEventReader extends Closeable {
+    /**
+     * Whether the workbook contains the sheet
+     *
+     * @param sheetName Sheet name
+     * @return true is exists
+     */
+    boolean containsSheet(String sheetName);
+
+    /**
+     * Iterate the rows of the sheet in order, a row is parsed only when it is requested.
+     * all cells of the rows up to the header are decoded, the body rows only decode the cells of the specified columns
+     *
+     * @param sheetName   Sheet name
+     * @param headerIndex Excel header index
+     * @param columns     Indexes of the columns decoded in the body rows, null to decode all columns
+     * @return Row iterator
+     */
+    Iterator<Row> rowIterator(String sheetName, int headerIndex, BitSet columns);
+}
@@ -0,0 +1,155 @@
+package cn.gjing.excel.executor.read.event;
+
+import cn.gjing.excel.base.exception.ExcelException;
+
+import java.io.*;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared strings table stored in a memory-mapped temporary file.
+ * the strings are appended to the file as length-prefixed UTF-8 bytes while the shared strings part is parsed,
+ * only the offset of each string and a small LRU cache of decoded strings are kept on the heap.
+ * not thread safe, the strings are only looked up by the thread that parses the sheet
+ *
+ * @author Gjing
+ **/
+final class MappedSharedStrings extends AbstractList<String> implements Closeable {
+    /**
+     * Maximum size of a mapped segment, a string never spans two segments
+     */
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    private final File file;
+    private final Map<Integer, String> cache;
+    private DataOutputStream out;
+    private long position;
+    private long[] offsets = new long[1024];
+    private int size;
+    private long[] segmentStarts = new long[]{0};
+    private ByteBuffer[] segments;
+
+    MappedSharedStrings(int cacheSize, int bufferSize) {
+        try {
+            this.file = Files.createTempFile("excel-sst", ".bin").toFile();
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.file), bufferSize));
+        } catch (IOException e) {
+            throw new ExcelException("Create shared strings file error, " + e.getMessage());
+        }
+        this.cache = new LinkedHashMap<Integer, String>(Math.min(cacheSize, 1024) * 2, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                return this.size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Append a string to the file, only allowed before {@link #finish()}
+     *
+     * @param s string
+     * @return true
+     */
+    @Override
+    public boolean add(String s) {
+        if (this.out == null) {
+            throw new IllegalStateException("The shared strings are already mapped");
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        long length = 4L + bytes.length;
+        long segmentStart = this.segmentStarts[this.segmentStarts.length - 1];
+        if (this.position > segmentStart && this.position + length - segmentStart > SEGMENT_SIZE) {
+            this.segmentStarts = Arrays.copyOf(this.segmentStarts, this.segmentStarts.length + 1);
+            this.segmentStarts[this.segmentStarts.length - 1] = this.position;
+        }
+        if (this.size == this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, this.size << 1);
+        }
+        this.offsets[this.size++] = this.position;
+        try {
+            this.out.writeInt(bytes.length);
+            this.out.write(bytes);
+        } catch (IOException e) {
+            throw new ExcelException("Write shared strings file error, " + e.getMessage());
+        }
+        this.position += length;
+        return true;
+    }
+
+    /**
+     * Finish appending and map the file
+     */
+    void finish() {
+        try {
+            this.out.close();
+            this.out = null;
+            this.segments = new ByteBuffer[this.segmentStarts.length];
+            try (RandomAccessFile accessFile = new RandomAccessFile(this.file, "r"); FileChannel channel = accessFile.getChannel()) {
+                for (int i = 0; i < this.segments.length; i++) {
+                    long end = i + 1 < this.segmentStarts.length ? this.segmentStarts[i + 1] : this.position;
+                    MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, this.segmentStarts[i], end - this.segmentStarts[i]);
+                    this.segments[i] = segment;
+                }
+            }
+        } catch (IOException e) {
+            throw new ExcelException("Map shared strings file error, " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Shared string index " + index + " out of range " + this.size);
+        }
+        String s = this.cache.get(index);
+        if (s == null) {
+            s = this.read(this.offsets[index]);
+            this.cache.put(index, s);
+        }
+        return s;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (this.out != null) {
+                this.out.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        this.segments = null;
+        this.cache.clear();
+        if (!this.file.delete()) {
+            this.file.deleteOnExit();
+        }
+    }
+
+    private String read(long offset) {
+        int segmentIndex = Arrays.binarySearch(this.segmentStarts, offset);
+        if (segmentIndex < 0) {
+            segmentIndex = -segmentIndex - 2;
+        }
+        ByteBuffer segment = this.segments[segmentIndex];
+        int local = (int) (offset - this.segmentStarts[segmentIndex]);
+        byte[] bytes = new byte[segment.getInt(local)];
+        ((Buffer) segment).position(local + 4);
+        segment.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,355 @@
+package cn.gjing.excel.executor.read.event;
+
+import cn.gjing.excel.base.exception.ExcelException;
+import cn.gjing.excel.base.exception.ExcelTemplateException;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.record.*;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.NotOLE2FileException;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Xls event model reader.
+ * the file is copied to a temporary file and the BIFF records of the workbook stream are pulled one by one,
+ * only the workbook globals (sheet names, shared strings and formats) are kept in memory and the rows of a sheet
+ * are built as their cell records are read. formula cells only provide the cached result, the formula text is not available
+ *
+ * @author Gjing
+ **/
+public final class XlsEventReader implements ExcelEventReader {
+    private final File tempFile;
+    private final POIFSFileSystem fileSystem;
+    private final String workbookEntry;
+
+    /**
+     * Sheet names and the indexes of the sheet substreams
+     */
+    private final Map<String, Integer> sheetIndexes = new LinkedHashMap<>();
+    private final FormatTrackingHSSFListener formatListener = new FormatTrackingHSSFListener(record -> {
+    });
+
+    /**
+     * Whether the cells of each extended format are dates
+     */
+    private final Map<Integer, Boolean> dateFormats = new HashMap<>();
+    private final Set<SheetRowIterator> openIterators = new HashSet<>();
+    private SSTRecord sstRecord;
+    private boolean date1904;
+
+    public XlsEventReader(InputStream inputStream, int bufferSize) {
+        File file = null;
+        try {
+            file = Files.createTempFile("excel-read", ".xls").toFile();
+            try (OutputStream out = new FileOutputStream(file)) {
+                byte[] buffer = new byte[bufferSize];
+                int len;
+                while ((len = inputStream.read(buffer)) != -1) {
+                    out.write(buffer, 0, len);
+                }
+            }
+            this.tempFile = file;
+            this.fileSystem = new POIFSFileSystem(file, true);
+            this.workbookEntry = HSSFWorkbook.getWorkbookDirEntryName(this.fileSystem.getRoot());
+        } catch (NotOLE2FileException | IllegalArgumentException e) {
+            if (file != null) {
+                file.delete();
+            }
+            throw new ExcelTemplateException();
+        } catch (IOException e) {
+            if (file != null) {
+                file.delete();
+            }
+            throw new ExcelException("Init workbook error, " + e.getMessage());
+        }
+        try {
+            this.init();
+        } catch (RuntimeException e) {
+            this.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean containsSheet(String sheetName) {
+        return this.sheetIndexes.containsKey(sheetName);
+    }
+
+    @Override
+    public Iterator<Row> rowIterator(String sheetName, int headerIndex, BitSet columns) {
+        Integer sheetIndex = this.sheetIndexes.get(sheetName);
+        if (sheetIndex == null) {
+            throw new ExcelException("The " + sheetName + " is not found in the workbook");
+        }
+        InputStream in = this.openWorkbookStream();
+        RecordFactoryInputStream records = new RecordFactoryInputStream(in, false);
+        int depth = 0;
+        int substream = -1;
+        Record record;
+        while ((record = records.nextRecord()) != null) {
+            if (record instanceof BOFRecord) {
+                if (depth == 0 && ++substream == sheetIndex + 1) {
+                    SheetRowIterator iterator = new SheetRowIterator(in, records, headerIndex, columns);
+                    this.openIterators.add(iterator);
+                    return iterator;
+                }
+                depth++;
+            } else if (record instanceof EOFRecord) {
+                depth--;
+            }
+        }
+        closeQuietly(in);
+        throw new ExcelException("The " + sheetName + " is not found in the workbook");
+    }
+
+    @Override
+    public void close() {
+        for (SheetRowIterator iterator : new ArrayList<>(this.openIterators)) {
+            iterator.close();
+        }
+        try {
+            this.fileSystem.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        this.tempFile.delete();
+    }
+
+    /**
+     * Read the workbook globals substream
+     */
+    private void init() {
+        InputStream in = this.openWorkbookStream();
+        try {
+            RecordFactoryInputStream records = new RecordFactoryInputStream(in, false);
+            List<BoundSheetRecord> boundSheets = new ArrayList<>();
+            Record record;
+            while ((record = records.nextRecord()) != null && !(record instanceof EOFRecord)) {
+                if (record instanceof BoundSheetRecord) {
+                    boundSheets.add((BoundSheetRecord) record);
+                } else if (record instanceof SSTRecord) {
+                    this.sstRecord = (SSTRecord) record;
+                } else if (record instanceof DateWindow1904Record) {
+                    this.date1904 = ((DateWindow1904Record) record).getWindowing() == 1;
+                } else {
+                    this.formatListener.processRecordInternally(record);
+                }
+            }
+            BoundSheetRecord[] orderedSheets = BoundSheetRecord.orderByBofPosition(boundSheets);
+            for (int i = 0; i < orderedSheets.length; i++) {
+                this.sheetIndexes.putIfAbsent(orderedSheets[i].getSheetname(), i);
+            }
+        } finally {
+            closeQuietly(in);
+        }
+    }
+
+    private InputStream openWorkbookStream() {
+        try {
+            return this.fileSystem.createDocumentInputStream(this.workbookEntry);
+        } catch (IOException e) {
+            throw new ExcelException("Read workbook error, " + e.getMessage());
+        }
+    }
+
+    private boolean isDateFormat(CellValueRecordInterface record) {
+        return this.dateFormats.computeIfAbsent((int) record.getXFIndex(), k ->
+                DateUtil.isADateFormat(this.formatListener.getFormatIndex(record), this.formatListener.getFormatString(record)));
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Builds the rows of a sheet substream one by one.
+     * the row records of a block come before its cell records and the cells arrive in row order,
+     * so a row is complete once a cell of a later row or the end of the sheet is read
+     */
+    private final class SheetRowIterator implements Iterator<Row> {
+        private final InputStream in;
+        private final RecordFactoryInputStream records;
+        private final int headerIndex;
+        private final BitSet columns;
+
+        /**
+         * Rows that may still receive cells, ordered by row number
+         */
+        private final TreeMap<Integer, EventRow> pendingRows = new TreeMap<>();
+        private final Deque<EventRow> completedRows = new ArrayDeque<>();
+
+        /**
+         * Formula cell waiting for the string record of its cached result
+         */
+        private EventCell stringResultCell;
+        private int depth = 1;
+        private boolean end;
+
+        SheetRowIterator(InputStream in, RecordFactoryInputStream records, int headerIndex, BitSet columns) {
+            this.in = in;
+            this.records = records;
+            this.headerIndex = headerIndex;
+            this.columns = columns;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.completedRows.isEmpty() && !this.end) {
+                Record record = this.records.nextRecord();
+                if (record == null) {
+                    this.finish();
+                } else {
+                    this.process(record);
+                }
+            }
+            return !this.completedRows.isEmpty();
+        }
+
+        @Override
+        public Row next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.completedRows.poll();
+        }
+
+        void close() {
+            if (openIterators.remove(this)) {
+                this.end = true;
+                closeQuietly(this.in);
+            }
+        }
+
+        private void finish() {
+            this.completedRows.addAll(this.pendingRows.values());
+            this.pendingRows.clear();
+            this.close();
+        }
+
+        private void process(Record record) {
+            if (record instanceof BOFRecord) {
+                this.depth++;
+                return;
+            }
+            if (record instanceof EOFRecord) {
+                if (--this.depth == 0) {
+                    this.finish();
+                }
+                return;
+            }
+            if (this.depth > 1) {
+                return;
+            }
+            if (record instanceof RowRecord) {
+                RowRecord rowRecord = (RowRecord) record;
+                EventRow row = this.pendingRows.computeIfAbsent(rowRecord.getRowNumber(), EventRow::new);
+                row.height = (short) (rowRecord.getHeight() & 0x7FFF);
+                row.zeroHeight = rowRecord.getZeroHeight();
+                return;
+            }
+            if (record instanceof StringRecord) {
+                if (this.stringResultCell != null) {
+                    this.stringResultCell.value = ((StringRecord) record).getString();
+                    this.stringResultCell = null;
+                }
+                return;
+            }
+            if (record instanceof MulBlankRecord) {
+                MulBlankRecord blankRecord = (MulBlankRecord) record;
+                for (int column = blankRecord.getFirstColumn(); column <= blankRecord.getLastColumn(); column++) {
+                    this.addCell(blankRecord.getRow(), column);
+                }
+                return;
+            }
+            if (record instanceof CellValueRecordInterface) {
+                CellValueRecordInterface cellRecord = (CellValueRecordInterface) record;
+                this.stringResultCell = null;
+                EventCell cell = this.addCell(cellRecord.getRow(), cellRecord.getColumn());
+                if (cell != null) {
+                    this.readCell(cell, cellRecord);
+                }
+            }
+        }
+
+        /**
+         * Create a cell, the rows before the row of the cell are completed
+         *
+         * @param rowNum Row index
+         * @param column Column index
+         * @return EventCell, null if the column is not decoded
+         */
+        private EventCell addCell(int rowNum, int column) {
+            while (!this.pendingRows.isEmpty() && this.pendingRows.firstKey() < rowNum) {
+                this.completedRows.add(this.pendingRows.pollFirstEntry().getValue());
+            }
+            EventRow row = this.pendingRows.computeIfAbsent(rowNum, EventRow::new);
+            if (this.columns != null && rowNum > this.headerIndex && !this.columns.get(column)) {
+                return null;
+            }
+            EventCell cell = row.addCell(column);
+            cell.date1904 = date1904;
+            return cell;
+        }
+
+        private void readCell(EventCell cell, CellValueRecordInterface record) {
+            if (record instanceof NumberRecord) {
+                cell.cellType = CellType.NUMERIC;
+                this.setNumericValue(cell, record, ((NumberRecord) record).getValue());
+            } else if (record instanceof LabelSSTRecord) {
+                cell.cellType = CellType.STRING;
+                cell.value = sstRecord.getString(((LabelSSTRecord) record).getSSTIndex()).getString();
+            } else if (record instanceof LabelRecord) {
+                cell.cellType = CellType.STRING;
+                cell.value = ((LabelRecord) record).getValue();
+            } else if (record instanceof BoolErrRecord) {
+                BoolErrRecord boolErrRecord = (BoolErrRecord) record;
+                if (boolErrRecord.isBoolean()) {
+                    cell.cellType = CellType.BOOLEAN;
+                    cell.value = boolErrRecord.getBooleanValue();
+                } else {
+                    cell.cellType = CellType.ERROR;
+                    cell.value = boolErrRecord.getErrorValue();
+                }
+            } else if (record instanceof FormulaRecord) {
+                FormulaRecord formulaRecord = (FormulaRecord) record;
+                cell.cellType = CellType.FORMULA;
+                cell.resultType = formulaRecord.getCachedResultTypeEnum();
+                switch (cell.resultType) {
+                    case NUMERIC:
+                        this.setNumericValue(cell, record, formulaRecord.getValue());
+                        break;
+                    case BOOLEAN:
+                        cell.value = formulaRecord.getCachedBooleanValue();
+                        break;
+                    case ERROR:
+                        cell.value = (byte) formulaRecord.getCachedErrorValue();
+                        break;
+                    case STRING:
+                        cell.value = "";
+                        if (formulaRecord.hasCachedResultString()) {
+                            this.stringResultCell = cell;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        private void setNumericValue(EventCell cell, CellValueRecordInterface record, double value) {
+            cell.value = value;
+            cell.dateFormatted = isDateFormat(record) && DateUtil.isValidExcelDate(value);
+        }
+    }
+}
@@ -0,0 +1,574 @@
+package cn.gjing.excel.executor.read.event;
+
+import cn.gjing.excel.base.exception.ExcelException;
+import cn.gjing.excel.base.exception.ExcelTemplateException;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.model.StylesTable;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Xlsx event model reader.
+ * the file is copied to a temporary file and the sheet XML is parsed with StAX directly from the zip entries,
+ * body cells of the columns that are not requested are skipped without being decoded
+ *
+ * @author Gjing
+ **/
+public final class XlsxEventReader implements ExcelEventReader {
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLHelper.newXMLInputFactory();
+    private static final String REL_OFFICE_DOCUMENT = "/officeDocument";
+    private static final String REL_SHARED_STRINGS = "/sharedStrings";
+    private static final String REL_STYLES = "/styles";
+
+    private final int bufferSize;
+
+    /**
+     * Number of decoded shared strings cached in memory, negative to keep all shared strings in memory
+     * instead of spilling them to a memory-mapped temporary file
+     */
+    private final int sstCacheSize;
+    private final File tempFile;
+    private final ZipFile zipFile;
+
+    /**
+     * Sheet names and the zip entries of the sheets, in workbook order
+     */
+    private final Map<String, String> sheetEntries = new LinkedHashMap<>();
+
+    /**
+     * Sheet parsers that are not finished yet
+     */
+    private final Set<SheetRowIterator> openIterators = new HashSet<>();
+    private final Map<Integer, CellStyle> cellStyles = new HashMap<>();
+    private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+    private String sharedStringsEntry;
+    private String stylesEntry;
+    private boolean date1904;
+    private List<String> sharedStrings;
+    private StylesTable stylesTable;
+
+    public XlsxEventReader(InputStream inputStream, int bufferSize) {
+        this(inputStream, bufferSize, -1);
+    }
+
+    /**
+     * Create a reader
+     *
+     * @param inputStream  Excel file inputStream
+     * @param bufferSize   Buffer size to use when reading InputStream to file
+     * @param sstCacheSize Number of decoded shared strings cached in memory when the shared strings are spilled to a
+     *                     memory-mapped temporary file, negative to keep all shared strings in memory
+     */
+    public XlsxEventReader(InputStream inputStream, int bufferSize, int sstCacheSize) {
+        this.bufferSize = bufferSize;
+        this.sstCacheSize = sstCacheSize;
+        File file = null;
+        try {
+            file = Files.createTempFile("excel-read", ".xlsx").toFile();
+            try (OutputStream out = new FileOutputStream(file)) {
+                byte[] buffer = new byte[bufferSize];
+                int len;
+                while ((len = inputStream.read(buffer)) != -1) {
+                    out.write(buffer, 0, len);
+                }
+            }
+            this.tempFile = file;
+            this.zipFile = new ZipFile(file);
+        } catch (ZipException e) {
+            file.delete();
+            throw new ExcelTemplateException();
+        } catch (IOException e) {
+            if (file != null) {
+                file.delete();
+            }
+            throw new ExcelException("Init workbook error, " + e.getMessage());
+        }
+        try {
+            this.init();
+        } catch (RuntimeException e) {
+            this.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean containsSheet(String sheetName) {
+        return this.sheetEntries.containsKey(sheetName);
+    }
+
+    @Override
+    public Iterator<Row> rowIterator(String sheetName, int headerIndex, BitSet columns) {
+        String entry = this.sheetEntries.get(sheetName);
+        if (entry == null) {
+            throw new ExcelException("The " + sheetName + " is not found in the workbook");
+        }
+        this.loadSharedStrings();
+        this.loadStyles();
+        SheetRowIterator iterator = new SheetRowIterator(this.openXml(entry), headerIndex, columns);
+        this.openIterators.add(iterator);
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        for (SheetRowIterator iterator : new ArrayList<>(this.openIterators)) {
+            iterator.close();
+        }
+        if (this.sharedStrings instanceof MappedSharedStrings) {
+            ((MappedSharedStrings) this.sharedStrings).close();
+        }
+        try {
+            this.zipFile.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        this.tempFile.delete();
+    }
+
+    /**
+     * Resolve the workbook part, the sheets, the shared strings and the styles from the package relationships
+     */
+    private void init() {
+        Map<String, String> rootTypes = new HashMap<>();
+        this.readRelationships("", rootTypes);
+        String workbookEntry = rootTypes.get(REL_OFFICE_DOCUMENT);
+        if (workbookEntry == null || this.zipFile.getEntry(workbookEntry) == null) {
+            throw new ExcelTemplateException();
+        }
+        Map<String, String> workbookTypes = new HashMap<>();
+        Map<String, String> workbookTargets = this.readRelationships(workbookEntry, workbookTypes);
+        this.sharedStringsEntry = workbookTypes.get(REL_SHARED_STRINGS);
+        this.stylesEntry = workbookTypes.get(REL_STYLES);
+        XmlSource source = this.openXml(workbookEntry);
+        try {
+            XMLStreamReader reader = source.reader;
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                if ("workbookPr".equals(reader.getLocalName())) {
+                    String date1904 = reader.getAttributeValue(null, "date1904");
+                    this.date1904 = "1".equals(date1904) || "true".equals(date1904);
+                } else if ("sheet".equals(reader.getLocalName())) {
+                    String target = workbookTargets.get(getRelationshipId(reader));
+                    if (target != null) {
+                        this.sheetEntries.put(reader.getAttributeValue(null, "name"), target);
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new ExcelException("Read workbook error, " + e.getMessage());
+        } finally {
+            source.close();
+        }
+    }
+
+    /**
+     * Read the relationships of a part
+     *
+     * @param partName Part entry name, empty for the package
+     * @param types    Receives the target of each relationship type, keyed by the last segment of the type
+     * @return Targets of the relationships keyed by relationship id
+     */
+    private Map<String, String> readRelationships(String partName, Map<String, String> types) {
+        int index = partName.lastIndexOf('/');
+        String relsEntry = partName.substring(0, index + 1) + "_rels/" + partName.substring(index + 1) + ".rels";
+        Map<String, String> targets = new HashMap<>();
+        if (this.zipFile.getEntry(relsEntry) == null) {
+            return targets;
+        }
+        XmlSource source = this.openXml(relsEntry);
+        try {
+            XMLStreamReader reader = source.reader;
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT || !"Relationship".equals(reader.getLocalName())
+                        || "External".equals(reader.getAttributeValue(null, "TargetMode"))) {
+                    continue;
+                }
+                String target = resolveTarget(partName, reader.getAttributeValue(null, "Target"));
+                targets.put(reader.getAttributeValue(null, "Id"), target);
+                String type = reader.getAttributeValue(null, "Type");
+                if (type != null) {
+                    types.putIfAbsent(type.substring(type.lastIndexOf('/')), target);
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new ExcelException("Read relationships error, " + e.getMessage());
+        } finally {
+            source.close();
+        }
+        return targets;
+    }
+
+    private void loadSharedStrings() {
+        if (this.sharedStrings != null) {
+            return;
+        }
+        if (this.sharedStringsEntry == null || this.zipFile.getEntry(this.sharedStringsEntry) == null) {
+            this.sharedStrings = Collections.emptyList();
+            return;
+        }
+        XmlSource source = this.openXml(this.sharedStringsEntry);
+        List<String> strings = this.sstCacheSize < 0 ? new ArrayList<>() : new MappedSharedStrings(this.sstCacheSize, this.bufferSize);
+        try {
+            XMLStreamReader reader = source.reader;
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                if ("si".equals(reader.getLocalName())) {
+                    strings.add(readStringItem(reader));
+                } else if ("sst".equals(reader.getLocalName()) && strings instanceof ArrayList) {
+                    String uniqueCount = reader.getAttributeValue(null, "uniqueCount");
+                    if (uniqueCount != null) {
+                        ((ArrayList<String>) strings).ensureCapacity(Math.min(Integer.parseInt(uniqueCount), 1 << 20));
+                    }
+                }
+            }
+            if (strings instanceof MappedSharedStrings) {
+                ((MappedSharedStrings) strings).finish();
+            }
+            this.sharedStrings = strings;
+        } catch (XMLStreamException | RuntimeException e) {
+            if (strings instanceof MappedSharedStrings) {
+                ((MappedSharedStrings) strings).close();
+            }
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new ExcelException("Read shared strings error, " + e.getMessage());
+        } finally {
+            source.close();
+        }
+    }
+
+    private void loadStyles() {
+        if (this.stylesTable != null || this.stylesEntry == null) {
+            return;
+        }
+        ZipEntry entry = this.zipFile.getEntry(this.stylesEntry);
+        if (entry == null) {
+            return;
+        }
+        try (InputStream in = this.zipFile.getInputStream(entry)) {
+            this.stylesTable = new StylesTable(in);
+        } catch (IOException e) {
+            throw new ExcelException("Read styles error, " + e.getMessage());
+        }
+    }
+
+    private CellStyle getCellStyle(int styleIndex) {
+        if (this.stylesTable == null) {
+            return null;
+        }
+        return this.cellStyles.computeIfAbsent(styleIndex, this.stylesTable::getStyleAt);
+    }
+
+    private boolean isDateStyle(int styleIndex) {
+        return this.dateStyles.computeIfAbsent(styleIndex, k -> {
+            CellStyle style = this.getCellStyle(k);
+            return style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+        });
+    }
+
+    private XmlSource openXml(String entryName) {
+        ZipEntry entry = this.zipFile.getEntry(entryName);
+        if (entry == null) {
+            throw new ExcelTemplateException();
+        }
+        InputStream in = null;
+        try {
+            in = new BufferedInputStream(this.zipFile.getInputStream(entry), this.bufferSize);
+            return new XmlSource(in, XML_INPUT_FACTORY.createXMLStreamReader(in));
+        } catch (IOException | XMLStreamException e) {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                }
+            }
+            throw new ExcelException("Read " + entryName + " error, " + e.getMessage());
+        }
+    }
+
+    private static String getRelationshipId(XMLStreamReader reader) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String namespace = reader.getAttributeNamespace(i);
+            if ("id".equals(reader.getAttributeLocalName(i)) && namespace != null && !namespace.isEmpty()) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private static String resolveTarget(String partName, String target) {
+        if (target.startsWith("/")) {
+            return target.substring(1);
+        }
+        Deque<String> segments = new ArrayDeque<>();
+        String path = partName.substring(0, partName.lastIndexOf('/') + 1) + target;
+        for (String segment : path.split("/")) {
+            if ("..".equals(segment)) {
+                segments.pollLast();
+            } else if (!segment.isEmpty() && !".".equals(segment)) {
+                segments.addLast(segment);
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    /**
+     * Read the text of a string item, the phonetic runs are ignored
+     *
+     * @param reader Reader positioned at the start of the item
+     * @return text
+     */
+    private static String readStringItem(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = null;
+        String first = null;
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if ("t".equals(name)) {
+                    String t = reader.getElementText();
+                    if (first == null) {
+                        first = t;
+                    } else {
+                        if (text == null) {
+                            text = new StringBuilder(first);
+                        }
+                        text.append(t);
+                    }
+                } else if ("rPh".equals(name)) {
+                    skipElement(reader);
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return text != null ? text.toString() : first == null ? "" : first;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static int columnIndex(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private static final class XmlSource {
+        private final InputStream in;
+        private final XMLStreamReader reader;
+
+        XmlSource(InputStream in, XMLStreamReader reader) {
+            this.in = in;
+            this.reader = reader;
+        }
+
+        void close() {
+            try {
+                this.reader.close();
+                this.in.close();
+            } catch (XMLStreamException | IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Parses the rows of a sheet one by one
+     */
+    private final class SheetRowIterator implements Iterator<Row> {
+        private final XmlSource source;
+        private final XMLStreamReader reader;
+        private final int headerIndex;
+        private final BitSet columns;
+        private EventRow next;
+        private int lastRowNum = -1;
+        private boolean end;
+
+        SheetRowIterator(XmlSource source, int headerIndex, BitSet columns) {
+            this.source = source;
+            this.reader = source.reader;
+            this.headerIndex = headerIndex;
+            this.columns = columns;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.next == null && !this.end) {
+                try {
+                    this.next = this.nextRow();
+                } catch (XMLStreamException e) {
+                    this.close();
+                    throw new ExcelException("Read sheet error, " + e.getMessage());
+                }
+                if (this.next == null) {
+                    this.close();
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public Row next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Row row = this.next;
+            this.next = null;
+            return row;
+        }
+
+        void close() {
+            if (!this.end) {
+                this.end = true;
+                this.source.close();
+                openIterators.remove(this);
+            }
+        }
+
+        private EventRow nextRow() throws XMLStreamException {
+            while (this.reader.hasNext()) {
+                int event = this.reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "row".equals(this.reader.getLocalName())) {
+                    return this.readRow();
+                }
+                if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(this.reader.getLocalName())) {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        private EventRow readRow() throws XMLStreamException {
+            String reference = this.reader.getAttributeValue(null, "r");
+            int rowNum = reference == null ? this.lastRowNum + 1 : Integer.parseInt(reference) - 1;
+            this.lastRowNum = rowNum;
+            EventRow row = new EventRow(rowNum);
+            String height = this.reader.getAttributeValue(null, "ht");
+            if (height != null) {
+                row.height = (short) (Double.parseDouble(height) * 20);
+            }
+            String hidden = this.reader.getAttributeValue(null, "hidden");
+            row.zeroHeight = "1".equals(hidden) || "true".equals(hidden);
+            boolean decodeAll = this.columns == null || rowNum <= this.headerIndex;
+            int lastColumn = -1;
+            while (this.reader.hasNext()) {
+                int event = this.reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "c".equals(this.reader.getLocalName())) {
+                    String cellReference = this.reader.getAttributeValue(null, "r");
+                    int column = cellReference == null ? lastColumn + 1 : columnIndex(cellReference);
+                    lastColumn = column;
+                    if (decodeAll || this.columns.get(column)) {
+                        this.readCell(row.addCell(column));
+                    } else {
+                        skipElement(this.reader);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(this.reader.getLocalName())) {
+                    break;
+                }
+            }
+            return row;
+        }
+
+        private void readCell(EventCell cell) throws XMLStreamException {
+            String type = this.reader.getAttributeValue(null, "t");
+            String style = this.reader.getAttributeValue(null, "s");
+            String value = null;
+            String formula = null;
+            String inlineString = null;
+            int depth = 1;
+            while (depth > 0) {
+                int event = this.reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = this.reader.getLocalName();
+                    if ("v".equals(name)) {
+                        value = this.reader.getElementText();
+                    } else if ("f".equals(name)) {
+                        formula = this.reader.getElementText();
+                    } else if ("is".equals(name)) {
+                        inlineString = readStringItem(this.reader);
+                    } else {
+                        depth++;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+            int styleIndex = style == null ? 0 : Integer.parseInt(style);
+            cell.cellStyle = getCellStyle(styleIndex);
+            cell.date1904 = date1904;
+            CellType valueType;
+            if (inlineString != null || "inlineStr".equals(type)) {
+                valueType = CellType.STRING;
+                cell.value = inlineString == null ? "" : inlineString;
+            } else if (value == null) {
+                valueType = CellType.BLANK;
+            } else if ("s".equals(type)) {
+                valueType = CellType.STRING;
+                cell.value = sharedStrings.get(Integer.parseInt(value));
+            } else if ("str".equals(type) || "d".equals(type)) {
+                valueType = CellType.STRING;
+                cell.value = value;
+            } else if ("b".equals(type)) {
+                valueType = CellType.BOOLEAN;
+                cell.value = "1".equals(value) || "true".equals(value);
+            } else if ("e".equals(type)) {
+                valueType = CellType.ERROR;
+                try {
+                    cell.value = FormulaError.forString(value).getCode();
+                } catch (IllegalArgumentException e) {
+                    cell.value = FormulaError.NA.getCode();
+                }
+            } else {
+                valueType = CellType.NUMERIC;
+                double d = Double.parseDouble(value);
+                cell.value = d;
+                cell.dateFormatted = isDateStyle(styleIndex) && DateUtil.isValidExcelDate(d);
+            }
+            if (formula != null) {
+                cell.cellType = CellType.FORMULA;
+                cell.resultType = valueType;
+                cell.formula = formula;
+            } else {
+                cell.cellType = valueType;
+            }
+        }
+    }
+}
@@ -5,9 +5,8 @@ import cn.gjing.excel.base.annotation.ExcelField;
 import cn.gjing.excel.base.util.ParamUtils;
 
 import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Bean tools
@@ -15,6 +14,16 @@ import java.util.List;
  * @author Gjing
  **/
 public final class BeanUtils {
+    /**
+     * Excel field properties cache, key is the Excel entity plus the ignored header names
+     */
+    private static final Map<PropertiesKey, List<ExcelFieldProperty>> PROPERTIES_CACHE = new ConcurrentHashMap<>(64);
+
+    /**
+     * Field mapping plan cache
+     */
+    private static final Map<Field, ExcelFieldPlan> PLAN_CACHE = new ConcurrentHashMap<>(256);
+
     /**
      * Set the value of a field of an object
      *
@@ -23,12 +32,7 @@ public final class BeanUtils {
      * @param value value
      */
     public static void setFieldValue(Object o, Field field, Object value) {
-        try {
-            field.setAccessible(true);
-            field.set(o, value);
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
-        }
+        getFieldPlan(field).getAccessor().set(o, value);
     }
 
     /**
@@ -39,22 +43,84 @@ public final class BeanUtils {
      * @return Object
      */
     public static Object getFieldValue(Object o, Field field) {
-        try {
-            field.setAccessible(true);
-            return field.get(o);
-        } catch (IllegalAccessException e) {
-            return null;
-        }
+        return getFieldPlan(field).getAccessor().get(o);
     }
 
     /**
-     * Get all excel field properties of the parent and child classes
+     * Get all excel field properties of the parent and child classes.
+     * the fields are scanned only once for each entity and ignore set,
+     * each call returns a new list of new properties that can be modified freely
      *
      * @param excelClass Excel mapped entity
      * @param ignores    The exported field is to be ignored
      * @return Excel filed properties
      */
     public static List<ExcelFieldProperty> getExcelFiledProperties(Class<?> excelClass, String[] ignores) {
+        List<ExcelFieldProperty> cached = PROPERTIES_CACHE.computeIfAbsent(new PropertiesKey(excelClass, ignores), k -> scanExcelFiledProperties(excelClass, ignores));
+        List<ExcelFieldProperty> fieldProperties = new ArrayList<>(cached.size());
+        for (ExcelFieldProperty property : cached) {
+            fieldProperties.add(ExcelFieldProperty.builder()
+                    .value(property.getValue())
+                    .field(property.getField())
+                    .width(property.getWidth())
+                    .index(property.getIndex())
+                    .format(property.getFormat())
+                    .color(property.getColor())
+                    .fontColor(property.getFontColor())
+                    .build());
+        }
+        return fieldProperties;
+    }
+
+    /**
+     * Get the mapping plan of the field
+     *
+     * @param field Excel field
+     * @return ExcelFieldPlan
+     */
+    public static ExcelFieldPlan getFieldPlan(Field field) {
+        ExcelFieldPlan plan = PLAN_CACHE.get(field);
+        if (plan == null) {
+            plan = PLAN_CACHE.computeIfAbsent(field, ExcelFieldPlan::of);
+        }
+        return plan;
+    }
+
+    /**
+     * Get the mapping plans of the fields bound to the excel field properties, in the same order
+     *
+     * @param fieldProperties Excel field properties
+     * @return Field mapping plans
+     */
+    public static ExcelFieldPlan[] getFieldPlans(List<ExcelFieldProperty> fieldProperties) {
+        ExcelFieldPlan[] plans = new ExcelFieldPlan[fieldProperties.size()];
+        for (int i = 0; i < plans.length; i++) {
+            plans[i] = getFieldPlan(fieldProperties.get(i).getField());
+        }
+        return plans;
+    }
+
+    /**
+     * Get all fields of the parent and child classes
+     *
+     * @param clazz Class
+     * @return Field list
+     */
+    public static List<Field> getAllFields(Class<?> clazz) {
+        if (clazz == null) {
+            return new ArrayList<>();
+        }
+        Field[] declaredFields = clazz.getDeclaredFields();
+        List<Field> fieldList = new ArrayList<>(Arrays.asList(declaredFields));
+        Class<?> superclass = clazz.getSuperclass();
+        while (superclass != Object.class) {
+            fieldList.addAll(Arrays.asList(superclass.getDeclaredFields()));
+            superclass = superclass.getSuperclass();
+        }
+        return fieldList;
+    }
+
+    private static List<ExcelFieldProperty> scanExcelFiledProperties(Class<?> excelClass, String[] ignores) {
         List<ExcelFieldProperty> fieldProperties = new ArrayList<>();
         getAllFields(excelClass).stream()
                 .filter(e -> e.isAnnotationPresent(ExcelField.class))
@@ -66,6 +132,7 @@ public final class BeanUtils {
                             return;
                         }
                     }
+                    getFieldPlan(e);
                     fieldProperties.add(ExcelFieldProperty.builder()
                             .value(excelField.value())
                             .field(e)
@@ -76,26 +143,36 @@ public final class BeanUtils {
                             .fontColor(excelField.fontColor())
                             .build());
                 });
-        return fieldProperties;
+        return Collections.unmodifiableList(fieldProperties);
     }
 
     /**
-     * Get all fields of the parent and child classes
-     *
-     * @param clazz Class
-     * @return Field list
+     * Key of the excel field properties cache
      */
-    public static List<Field> getAllFields(Class<?> clazz) {
-        if (clazz == null) {
-            return new ArrayList<>();
+    private static final class PropertiesKey {
+        private final Class<?> excelClass;
+        private final Set<String> ignores;
+
+        PropertiesKey(Class<?> excelClass, String[] ignores) {
+            this.excelClass = excelClass;
+            this.ignores = ignores == null || ignores.length == 0 ? Collections.emptySet() : new HashSet<>(Arrays.asList(ignores));
         }
-        Field[] declaredFields = clazz.getDeclaredFields();
-        List<Field> fieldList = new ArrayList<>(Arrays.asList(declaredFields));
-        Class<?> superclass = clazz.getSuperclass();
-        while (superclass != Object.class) {
-            fieldList.addAll(Arrays.asList(superclass.getDeclaredFields()));
-            superclass = superclass.getSuperclass();
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PropertiesKey)) {
+                return false;
+            }
+            PropertiesKey that = (PropertiesKey) o;
+            return this.excelClass == that.excelClass && this.ignores.equals(that.ignores);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.excelClass.hashCode() + this.ignores.hashCode();
         }
-        return fieldList;
     }
 }
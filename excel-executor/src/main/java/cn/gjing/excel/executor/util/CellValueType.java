@@ -0,0 +1,200 @@
+package cn.gjing.excel.executor.util;
+
+import cn.gjing.excel.base.util.ExcelUtils;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.RichTextString;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * Value type written to the cells of an Excel column.
+ * resolved once from the declared type of the field, so the cell setter is chosen by a switch instead of
+ * checking the value against every supported type, values of another type (e.g. replaced by a listener)
+ * are written by {@link ExcelUtils#setCellValue}
+ *
+ * @author Gjing
+ **/
+public enum CellValueType {
+    /**
+     * String field
+     */
+    STRING,
+
+    /**
+     * Numeric wrapper or other {@link Number} field
+     */
+    NUMBER,
+
+    /**
+     * Numeric primitive field, read without boxing
+     */
+    PRIMITIVE_NUMBER,
+
+    /**
+     * Boolean wrapper field
+     */
+    BOOLEAN,
+
+    /**
+     * Boolean primitive field, read without boxing
+     */
+    PRIMITIVE_BOOLEAN,
+
+    /**
+     * Date field
+     */
+    DATE,
+
+    /**
+     * LocalDateTime field
+     */
+    LOCAL_DATE_TIME,
+
+    /**
+     * LocalDate field
+     */
+    LOCAL_DATE,
+
+    /**
+     * Enum field, written as the string of the constant
+     */
+    ENUM,
+
+    /**
+     * Rich text field
+     */
+    RICH_TEXT,
+
+    /**
+     * Field of any other type, such as Object, the value type is checked for every cell
+     */
+    DYNAMIC;
+
+    /**
+     * Resolve the value type of a field type
+     *
+     * @param type Field type
+     * @return CellValueType
+     */
+    public static CellValueType of(Class<?> type) {
+        if (type == String.class) {
+            return STRING;
+        }
+        if (type == boolean.class) {
+            return PRIMITIVE_BOOLEAN;
+        }
+        if (type.isPrimitive()) {
+            return type == char.class ? DYNAMIC : PRIMITIVE_NUMBER;
+        }
+        if (Number.class.isAssignableFrom(type)) {
+            return NUMBER;
+        }
+        if (type == Boolean.class) {
+            return BOOLEAN;
+        }
+        if (Date.class.isAssignableFrom(type)) {
+            return DATE;
+        }
+        if (type == LocalDateTime.class) {
+            return LOCAL_DATE_TIME;
+        }
+        if (type == LocalDate.class) {
+            return LOCAL_DATE;
+        }
+        if (type.isEnum()) {
+            return ENUM;
+        }
+        if (RichTextString.class.isAssignableFrom(type)) {
+            return RICH_TEXT;
+        }
+        return DYNAMIC;
+    }
+
+    /**
+     * Read the field of the object and write it to the cell, primitive fields are not boxed
+     *
+     * @param cell     Current cell
+     * @param o        Object of the row
+     * @param accessor Field accessor
+     */
+    public void setCellValue(Cell cell, Object o, FieldAccessor accessor) {
+        switch (this) {
+            case PRIMITIVE_NUMBER:
+                cell.setCellValue(accessor.getDouble(o));
+                break;
+            case PRIMITIVE_BOOLEAN:
+                cell.setCellValue(accessor.getBoolean(o));
+                break;
+            default:
+                this.setCellValue(cell, accessor.get(o));
+        }
+    }
+
+    /**
+     * Write the value to the cell
+     *
+     * @param cell  Current cell
+     * @param value Cell value, null is not written
+     */
+    public void setCellValue(Cell cell, Object value) {
+        if (value == null) {
+            return;
+        }
+        switch (this) {
+            case STRING:
+                if (value instanceof String) {
+                    cell.setCellValue((String) value);
+                    return;
+                }
+                break;
+            case NUMBER:
+            case PRIMITIVE_NUMBER:
+                if (value instanceof Number) {
+                    cell.setCellValue(((Number) value).doubleValue());
+                    return;
+                }
+                break;
+            case BOOLEAN:
+            case PRIMITIVE_BOOLEAN:
+                if (value instanceof Boolean) {
+                    cell.setCellValue((Boolean) value);
+                    return;
+                }
+                break;
+            case DATE:
+                if (value instanceof Date) {
+                    cell.setCellValue((Date) value);
+                    return;
+                }
+                break;
+            case LOCAL_DATE_TIME:
+                if (value instanceof LocalDateTime) {
+                    cell.setCellValue((LocalDateTime) value);
+                    return;
+                }
+                break;
+            case LOCAL_DATE:
+                if (value instanceof LocalDate) {
+                    cell.setCellValue((LocalDate) value);
+                    return;
+                }
+                break;
+            case ENUM:
+                if (value instanceof Enum) {
+                    cell.setCellValue(value.toString());
+                    return;
+                }
+                break;
+            case RICH_TEXT:
+                if (value instanceof RichTextString) {
+                    cell.setCellValue((RichTextString) value);
+                    return;
+                }
+                break;
+            default:
+        }
+        ExcelUtils.setCellValue(cell, value);
+    }
+}
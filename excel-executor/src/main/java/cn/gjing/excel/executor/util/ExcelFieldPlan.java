@@ -0,0 +1,179 @@
+package cn.gjing.excel.executor.util;
+
+import cn.gjing.excel.base.annotation.ExcelAssert;
+import cn.gjing.excel.base.annotation.ExcelDataConvert;
+import cn.gjing.excel.base.annotation.ExcelField;
+import cn.gjing.excel.base.convert.ExcelFieldConverter;
+import cn.gjing.excel.base.exception.ExcelException;
+import cn.gjing.excel.base.meta.ELMeta;
+import lombok.Getter;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.expression.Expression;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Precomputed mapping plan of an Excel field.
+ * Resolved once per field and shared by all readers and writers, so annotations and
+ * expressions are not looked up again for every cell
+ *
+ * @author Gjing
+ **/
+@Getter
+public final class ExcelFieldPlan {
+    /**
+     * Mapped field, already made accessible
+     */
+    private final Field field;
+
+    /**
+     * Generated getter and setter of the field
+     */
+    private final FieldAccessor accessor;
+
+    /**
+     * Field type
+     */
+    private final Class<?> type;
+
+    /**
+     * Field type, primitive types are resolved to their wrapper types
+     */
+    private final Class<?> boxedType;
+
+    /**
+     * ExcelField annotation on the field, null if the field is not annotated
+     */
+    private final ExcelField excelField;
+
+    /**
+     * ExcelAssert annotation on the field, null if absent
+     */
+    private final ExcelAssert excelAssert;
+
+    /**
+     * Parsed assert expression, null if absent
+     */
+    private final Expression assertExpr;
+
+    /**
+     * Field value converter, null if absent
+     */
+    private final ExcelFieldConverter<Object, Object> fieldConverter;
+
+    /**
+     * Cell value type of the field value converter, Object if it cannot be resolved
+     */
+    private final Class<?> converterCellType;
+
+    /**
+     * Parsed import convert expression, null if absent or replaced by the field value converter
+     */
+    private final Expression readExpr;
+
+    /**
+     * Parsed export convert expression, null if absent or replaced by the field value converter
+     */
+    private final Expression writeExpr;
+
+    /**
+     * Names of the variables referenced by the assert and import convert expressions
+     */
+    private final Set<String> readVariables;
+
+    /**
+     * Names of the variables referenced by the export convert expression
+     */
+    private final Set<String> writeVariables;
+
+    /**
+     * Value type written to the cells when exporting, dynamic if the value is converted by an expression
+     */
+    private final CellValueType cellValueType;
+
+    /**
+     * Remove spaces from text cells during import
+     */
+    private final boolean trim;
+
+    /**
+     * Whether the body cell is mandatory during import
+     */
+    private final boolean required;
+
+    private ExcelFieldPlan(Field field) {
+        field.setAccessible(true);
+        this.field = field;
+        this.accessor = FieldAccessor.of(field);
+        this.type = field.getType();
+        this.boxedType = ClassUtils.resolvePrimitiveIfNecessary(this.type);
+        this.excelField = field.getAnnotation(ExcelField.class);
+        this.excelAssert = field.getAnnotation(ExcelAssert.class);
+        this.assertExpr = this.excelAssert == null ? null : ELMeta.PARSER.getExpression(this.excelAssert.expr());
+        ExcelDataConvert dataConvert = field.getAnnotation(ExcelDataConvert.class);
+        this.fieldConverter = dataConvert == null ? null : createConverter(dataConvert.converter());
+        this.converterCellType = this.fieldConverter == null ? Object.class : resolveCellType(this.fieldConverter.getClass());
+        if (this.fieldConverter != null) {
+            dataConvert = null;
+        }
+        this.readExpr = dataConvert == null || "".equals(dataConvert.readExpr()) ? null : ELMeta.PARSER.getExpression(dataConvert.readExpr());
+        this.writeExpr = dataConvert == null || "".equals(dataConvert.writeExpr()) ? null : ELMeta.PARSER.getExpression(dataConvert.writeExpr());
+        Set<String> readVariables = new HashSet<>();
+        if (this.assertExpr != null) {
+            readVariables.addAll(ELMeta.PARSER.getVariableNames(this.assertExpr));
+        }
+        if (this.readExpr != null) {
+            readVariables.addAll(ELMeta.PARSER.getVariableNames(this.readExpr));
+        }
+        this.readVariables = Collections.unmodifiableSet(readVariables);
+        this.writeVariables = this.writeExpr == null ? Collections.emptySet() : Collections.unmodifiableSet(ELMeta.PARSER.getVariableNames(this.writeExpr));
+        if (this.fieldConverter != null) {
+            this.cellValueType = CellValueType.of(this.converterCellType);
+        } else {
+            this.cellValueType = this.writeExpr == null ? CellValueType.of(this.type) : CellValueType.DYNAMIC;
+        }
+        this.trim = this.excelField != null && this.excelField.trim();
+        this.required = this.excelField != null && this.excelField.required();
+    }
+
+    /**
+     * Whether the field value is converted by an expression or a converter
+     *
+     * @return true if converted when exporting
+     */
+    public boolean isWriteConverted() {
+        return this.writeExpr != null || this.fieldConverter != null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ExcelFieldConverter<Object, Object> createConverter(Class<? extends ExcelFieldConverter> converterClass) {
+        if (converterClass == ExcelFieldConverter.class) {
+            return null;
+        }
+        try {
+            return ReflectionUtils.accessibleConstructor(converterClass).newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new ExcelException("Converter instantiation failed, " + converterClass.getName() + ", " + e.getMessage());
+        }
+    }
+
+    private static Class<?> resolveCellType(Class<?> converterClass) {
+        Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(converterClass, ExcelFieldConverter.class);
+        return typeArguments == null || typeArguments[1] == null ? Object.class : typeArguments[1];
+    }
+
+    /**
+     * Create the mapping plan of a field
+     *
+     * @param field Excel field
+     * @return ExcelFieldPlan
+     */
+    static ExcelFieldPlan of(Field field) {
+        return new ExcelFieldPlan(field);
+    }
+}
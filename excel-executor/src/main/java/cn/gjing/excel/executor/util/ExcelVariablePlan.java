@@ -0,0 +1,83 @@
+package cn.gjing.excel.executor.util;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Variables of the EL context that the expressions of an Excel class actually reference.
+ * the executors only set these variables, so the rows of classes without expressions do not touch the EL context
+ *
+ * @author Gjing
+ **/
+public final class ExcelVariablePlan {
+    /**
+     * Names of the referenced variables
+     */
+    private final Set<String> names;
+
+    /**
+     * Whether the field of each column is referenced
+     */
+    private final boolean[] fields;
+
+    private ExcelVariablePlan(ExcelFieldPlan[] plans, Function<ExcelFieldPlan, Set<String>> variables) {
+        this.names = new HashSet<>();
+        for (ExcelFieldPlan plan : plans) {
+            this.names.addAll(variables.apply(plan));
+        }
+        this.fields = new boolean[plans.length];
+        for (int i = 0; i < plans.length; i++) {
+            this.fields[i] = this.names.contains(plans[i].getField().getName());
+        }
+    }
+
+    /**
+     * Create the variable plan of the assert and import convert expressions
+     *
+     * @param plans Field mapping plans
+     * @return ExcelVariablePlan
+     */
+    public static ExcelVariablePlan ofRead(ExcelFieldPlan[] plans) {
+        return new ExcelVariablePlan(plans, ExcelFieldPlan::getReadVariables);
+    }
+
+    /**
+     * Create the variable plan of the export convert expressions
+     *
+     * @param plans Field mapping plans
+     * @return ExcelVariablePlan
+     */
+    public static ExcelVariablePlan ofWrite(ExcelFieldPlan[] plans) {
+        return new ExcelVariablePlan(plans, ExcelFieldPlan::getWriteVariables);
+    }
+
+    /**
+     * Whether no expression references any variable
+     *
+     * @return true if the EL context needs no variables
+     */
+    public boolean isEmpty() {
+        return this.names.isEmpty();
+    }
+
+    /**
+     * Whether the variable is referenced
+     *
+     * @param name Variable name
+     * @return true if referenced
+     */
+    public boolean isReferenced(String name) {
+        return this.names.contains(name);
+    }
+
+    /**
+     * Whether the field of the column is referenced
+     *
+     * @param fieldIndex Field index
+     * @return true if referenced
+     */
+    public boolean isFieldReferenced(int fieldIndex) {
+        return this.fields[fieldIndex];
+    }
+}
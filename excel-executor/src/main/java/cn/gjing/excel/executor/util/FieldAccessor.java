@@ -0,0 +1,169 @@
+package cn.gjing.excel.executor.util;
+
+import cn.gjing.excel.base.exception.ExcelException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Fast field accessor.
+ * the getter and setter method handles are generated once per field and adapted to
+ * the erased (Object)Object and (Object,Object)void signatures, so every read and write is a
+ * direct invocation without access checks. falls back to reflection if the handles cannot be created
+ *
+ * @author Gjing
+ **/
+public final class FieldAccessor {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType DOUBLE_GETTER_TYPE = MethodType.methodType(double.class, Object.class);
+    private static final MethodType BOOLEAN_GETTER_TYPE = MethodType.methodType(boolean.class, Object.class);
+
+    private final Field field;
+
+    /**
+     * Getter handle, null if the reflection fallback is used
+     */
+    private final MethodHandle getter;
+
+    /**
+     * Setter handle, null if the reflection fallback is used
+     */
+    private final MethodHandle setter;
+
+    /**
+     * Unboxed getter of numeric primitive fields widened to double, or of boolean fields,
+     * null for other fields or if the reflection fallback is used
+     */
+    private final MethodHandle primitiveGetter;
+
+    private FieldAccessor(Field field) {
+        field.setAccessible(true);
+        this.field = field;
+        MethodHandle getter;
+        MethodHandle setter;
+        MethodHandle primitiveGetter = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle fieldGetter = lookup.unreflectGetter(field);
+            getter = fieldGetter.asType(GETTER_TYPE);
+            setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            if (field.getType() == boolean.class) {
+                primitiveGetter = fieldGetter.asType(BOOLEAN_GETTER_TYPE);
+            } else if (field.getType().isPrimitive() && field.getType() != char.class) {
+                primitiveGetter = fieldGetter.asType(DOUBLE_GETTER_TYPE);
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            getter = null;
+            setter = null;
+        }
+        this.getter = getter;
+        this.setter = setter;
+        this.primitiveGetter = primitiveGetter;
+    }
+
+    /**
+     * Create the accessor of a field
+     *
+     * @param field field
+     * @return FieldAccessor
+     */
+    public static FieldAccessor of(Field field) {
+        return new FieldAccessor(field);
+    }
+
+    /**
+     * Gets the value in the field
+     *
+     * @param o object
+     * @return Object
+     */
+    public Object get(Object o) {
+        if (this.getter == null) {
+            try {
+                return this.field.get(o);
+            } catch (IllegalAccessException e) {
+                throw new ExcelException("Get the value of " + this.field.getName() + " failure, " + e.getMessage());
+            }
+        }
+        try {
+            return (Object) this.getter.invokeExact(o);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExcelException("Get the value of " + this.field.getName() + " failure, " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the value of a numeric primitive field widened to double, without boxing
+     *
+     * @param o object
+     * @return double value
+     */
+    public double getDouble(Object o) {
+        if (this.primitiveGetter == null) {
+            try {
+                return this.field.getDouble(o);
+            } catch (IllegalAccessException e) {
+                throw new ExcelException("Get the value of " + this.field.getName() + " failure, " + e.getMessage());
+            }
+        }
+        try {
+            return (double) this.primitiveGetter.invokeExact(o);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExcelException("Get the value of " + this.field.getName() + " failure, " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the value of a boolean field, without boxing
+     *
+     * @param o object
+     * @return boolean value
+     */
+    public boolean getBoolean(Object o) {
+        if (this.primitiveGetter == null) {
+            try {
+                return this.field.getBoolean(o);
+            } catch (IllegalAccessException e) {
+                throw new ExcelException("Get the value of " + this.field.getName() + " failure, " + e.getMessage());
+            }
+        }
+        try {
+            return (boolean) this.primitiveGetter.invokeExact(o);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExcelException("Get the value of " + this.field.getName() + " failure, " + e.getMessage());
+        }
+    }
+
+    /**
+     * Set the value of the field
+     *
+     * @param o     object
+     * @param value value
+     */
+    public void set(Object o, Object value) {
+        if (this.setter == null) {
+            try {
+                this.field.set(o, value);
+            } catch (IllegalAccessException e) {
+                throw new ExcelException("Set the value of " + this.field.getName() + " failure, " + e.getMessage());
+            }
+            return;
+        }
+        try {
+            this.setter.invokeExact(o, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExcelException("Set the value of " + this.field.getName() + " failure, " + e.getMessage());
+        }
+    }
+}
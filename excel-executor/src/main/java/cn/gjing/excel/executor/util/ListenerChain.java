@@ -2,7 +2,7 @@ package cn.gjing.excel.executor.util;
 
 import cn.gjing.excel.base.BigTitle;
 import cn.gjing.excel.base.ExcelFieldProperty;
-import cn.gjing.excel.base.listener.ExcelListener;
+import cn.gjing.excel.base.listener.ExcelListenerTable;
 import cn.gjing.excel.base.listener.read.ExcelEmptyReadListener;
 import cn.gjing.excel.base.listener.read.ExcelRowReadListener;
 import cn.gjing.excel.base.listener.write.*;
@@ -12,10 +12,10 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 
-import java.util.List;
 
 /**
- * Excel listener link call tool
+ * Excel listener link call tool,
+ * the listeners of each event are taken from the dispatch table of the context
  *
  * @author Gjing
  **/
@@ -32,13 +32,9 @@ public final class ListenerChain {
      * @param rowType   Current row type
      * @param property  ExcelField property
      */
-    public static void doCompleteCell(List<ExcelListener> listeners, Sheet sheet, Row row, Cell cell, ExcelFieldProperty property, int index, RowType rowType) {
-        if (listeners != null) {
-            for (ExcelListener cellListener : listeners) {
-                if (cellListener instanceof ExcelCellWriteListener) {
-                    ((ExcelCellWriteListener) cellListener).completeCell(sheet, row, cell, property, index, rowType);
-                }
-            }
+    public static void doCompleteCell(ExcelListenerTable listeners, Sheet sheet, Row row, Cell cell, ExcelFieldProperty property, int index, RowType rowType) {
+        for (ExcelCellWriteListener cellListener : listeners.getCompleteCellListeners()) {
+            cellListener.completeCell(sheet, row, cell, property, index, rowType);
         }
     }
 
@@ -55,14 +51,10 @@ public final class ListenerChain {
      * @param value     Cell value
      * @return Cell value
      */
-    public static Object doAssignmentBefore(List<ExcelListener> listeners, Sheet sheet, Row row, Cell cell, ExcelFieldProperty property, int index, RowType rowType, Object value) {
+    public static Object doAssignmentBefore(ExcelListenerTable listeners, Sheet sheet, Row row, Cell cell, ExcelFieldProperty property, int index, RowType rowType, Object value) {
         Object val = value;
-        if (listeners != null) {
-            for (ExcelListener cellListener : listeners) {
-                if (cellListener instanceof ExcelCellWriteListener) {
-                    val = ((ExcelCellWriteListener) cellListener).assignmentBefore(sheet, row, cell, property, index, rowType, val);
-                }
-            }
+        for (ExcelCellWriteListener cellListener : listeners.getAssignmentBeforeListeners()) {
+            val = cellListener.assignmentBefore(sheet, row, cell, property, index, rowType, val);
         }
         return val;
     }
@@ -75,13 +67,9 @@ public final class ListenerChain {
      * @param rowType   Current row type
      * @param listeners Listener instances
      */
-    public static void doCreateRowBefore(List<ExcelListener> listeners, Sheet sheet, int index, RowType rowType) {
-        if (listeners != null) {
-            for (ExcelListener rowListener : listeners) {
-                if (rowListener instanceof ExcelRowWriteListener) {
-                    ((ExcelRowWriteListener) rowListener).createBefore(sheet, index, rowType);
-                }
-            }
+    public static void doCreateRowBefore(ExcelListenerTable listeners, Sheet sheet, int index, RowType rowType) {
+        for (ExcelRowWriteListener rowListener : listeners.getCreateRowBeforeListeners()) {
+            rowListener.createBefore(sheet, index, rowType);
         }
     }
 
@@ -95,13 +83,9 @@ public final class ListenerChain {
      * @param index     Data indexing, depending on the row type, starts at 0
      * @param rowType   Current row type
      */
-    public static void doCompleteRow(List<ExcelListener> listeners, Sheet sheet, Row row, Object obj, int index, RowType rowType) {
-        if (listeners != null) {
-            for (ExcelListener rowListener : listeners) {
-                if (rowListener instanceof ExcelRowWriteListener) {
-                    ((ExcelRowWriteListener) rowListener).completeRow(sheet, row, obj, index, rowType);
-                }
-            }
+    public static void doCompleteRow(ExcelListenerTable listeners, Sheet sheet, Row row, Object obj, int index, RowType rowType) {
+        for (ExcelRowWriteListener rowListener : listeners.getCompleteRowListeners()) {
+            rowListener.completeRow(sheet, row, obj, index, rowType);
         }
     }
 
@@ -111,13 +95,9 @@ public final class ListenerChain {
      * @param sheet     Current sheet
      * @param listeners Sheet listeners
      */
-    public static void doCompleteSheet(List<ExcelListener> listeners, Sheet sheet) {
-        if (listeners != null) {
-            for (ExcelListener sheetListener : listeners) {
-                if (sheetListener instanceof ExcelSheetWriteListener) {
-                    ((ExcelSheetWriteListener) sheetListener).completeSheet(sheet);
-                }
-            }
+    public static void doCompleteSheet(ExcelListenerTable listeners, Sheet sheet) {
+        for (ExcelSheetWriteListener sheetListener : listeners.getSheetListeners()) {
+            sheetListener.completeSheet(sheet);
         }
     }
 
@@ -128,14 +108,10 @@ public final class ListenerChain {
      * @param workbookListeners Workbook listeners
      * @return If true, the download will start
      */
-    public static boolean doWorkbookFlushBefore(List<ExcelListener> workbookListeners, Workbook workbook) {
+    public static boolean doWorkbookFlushBefore(ExcelListenerTable workbookListeners, Workbook workbook) {
         boolean continueDownload = true;
-        if (workbookListeners != null) {
-            for (ExcelListener workbookListener : workbookListeners) {
-                if (workbookListener instanceof ExcelWorkbookWriteListener) {
-                    continueDownload = ((ExcelWorkbookWriteListener) workbookListener).flushBefore(workbook);
-                }
-            }
+        for (ExcelWorkbookWriteListener workbookListener : workbookListeners.getWorkbookListeners()) {
+            continueDownload = workbookListener.flushBefore(workbook);
         }
         return continueDownload;
     }
@@ -147,13 +123,9 @@ public final class ListenerChain {
      * @param bigTitle       Big title
      * @param styleListeners Style listeners
      */
-    public static void doSetTitleStyle(List<ExcelListener> styleListeners, BigTitle bigTitle, Cell cell) {
-        if (styleListeners != null) {
-            for (ExcelListener styleListener : styleListeners) {
-                if (styleListener instanceof ExcelStyleWriteListener) {
-                    ((ExcelStyleWriteListener) styleListener).setTitleStyle(bigTitle, cell);
-                }
-            }
+    public static void doSetTitleStyle(ExcelListenerTable styleListeners, BigTitle bigTitle, Cell cell) {
+        for (ExcelStyleWriteListener styleListener : styleListeners.getStyleListeners()) {
+            styleListener.setTitleStyle(bigTitle, cell);
         }
     }
 
@@ -166,13 +138,9 @@ public final class ListenerChain {
      * @param property       ExcelField property
      * @param styleListeners Style listeners
      */
-    public static void doSetHeadStyle(List<ExcelListener> styleListeners, Row row, Cell cell, ExcelFieldProperty property, int index) {
-        if (styleListeners != null) {
-            for (ExcelListener styleListener : styleListeners) {
-                if (styleListener instanceof ExcelStyleWriteListener) {
-                    ((ExcelStyleWriteListener) styleListener).setHeadStyle(row, cell, property, index);
-                }
-            }
+    public static void doSetHeadStyle(ExcelListenerTable styleListeners, Row row, Cell cell, ExcelFieldProperty property, int index) {
+        for (ExcelStyleWriteListener styleListener : styleListeners.getStyleListeners()) {
+            styleListener.setHeadStyle(row, cell, property, index);
         }
     }
 
@@ -185,13 +153,9 @@ public final class ListenerChain {
      * @param property       ExcelField property
      * @param styleListeners Style listeners
      */
-    public static void doSetBodyStyle(List<ExcelListener> styleListeners, Row row, Cell cell, ExcelFieldProperty property, int index) {
-        if (styleListeners != null) {
-            for (ExcelListener styleListener : styleListeners) {
-                if (styleListener instanceof ExcelStyleWriteListener) {
-                    ((ExcelStyleWriteListener) styleListener).setBodyStyle(row, cell, property, index);
-                }
-            }
+    public static void doSetBodyStyle(ExcelListenerTable styleListeners, Row row, Cell cell, ExcelFieldProperty property, int index) {
+        for (ExcelStyleWriteListener styleListener : styleListeners.getStyleListeners()) {
+            styleListener.setBodyStyle(row, cell, property, index);
         }
     }
 
@@ -205,16 +169,12 @@ public final class ListenerChain {
      * @param <R>              R
      * @return Continue read next row
      */
-    @SuppressWarnings("unchecked")
-    public static <R> boolean doReadRow(List<ExcelListener> rowReadListeners, R r, Row row, RowType rowType) {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <R> boolean doReadRow(ExcelListenerTable rowReadListeners, R r, Row row, RowType rowType) {
         boolean continueRead = true;
-        if (rowReadListeners != null) {
-            for (ExcelListener rowReadListener : rowReadListeners) {
-                if (rowReadListener instanceof ExcelRowReadListener) {
-                    ((ExcelRowReadListener<R>) rowReadListener).readRow(r, row, row.getRowNum(), rowType);
-                    continueRead = ((ExcelRowReadListener<R>) rowReadListener).continueRead();
-                }
-            }
+        for (ExcelRowReadListener rowReadListener : rowReadListeners.getReadRowListeners()) {
+            ((ExcelRowReadListener<R>) rowReadListener).readRow(r, row, row.getRowNum(), rowType);
+            continueRead = rowReadListener.continueRead();
         }
         return continueRead;
     }
@@ -223,16 +183,11 @@ public final class ListenerChain {
      * Before you start reading the data
      *
      * @param listeners Excel read listeners
-     * @param <R>       The generic
      */
-    @SuppressWarnings("unchecked")
-    public static <R> void doReadBefore(List<ExcelListener> listeners) {
-        if (listeners != null) {
-            for (ExcelListener listener : listeners) {
-                if (listener instanceof ExcelRowReadListener) {
-                    ((ExcelRowReadListener<R>) listener).readBefore();
-                }
-            }
+    @SuppressWarnings("rawtypes")
+    public static void doReadBefore(ExcelListenerTable listeners) {
+        for (ExcelRowReadListener listener : listeners.getReadBeforeListeners()) {
+            listener.readBefore();
         }
     }
 
@@ -248,14 +203,10 @@ public final class ListenerChain {
      * @return cellValue
      */
     @SuppressWarnings("rawtypes")
-    public static Object doReadCell(List<ExcelListener> rowReadListeners, Object cellValue, Cell cell, int rowIndex, int colIndex, RowType rowType) {
+    public static Object doReadCell(ExcelListenerTable rowReadListeners, Object cellValue, Cell cell, int rowIndex, int colIndex, RowType rowType) {
         Object val = cellValue;
-        if (rowReadListeners != null) {
-            for (ExcelListener rowReadListener : rowReadListeners) {
-                if (rowReadListener instanceof ExcelRowReadListener) {
-                    val = ((ExcelRowReadListener) rowReadListener).readCell(val, cell, rowIndex, colIndex, rowType);
-                }
-            }
+        for (ExcelRowReadListener rowReadListener : rowReadListeners.getReadCellListeners()) {
+            val = rowReadListener.readCell(val, cell, rowIndex, colIndex, rowType);
         }
         return val;
     }
@@ -264,16 +215,11 @@ public final class ListenerChain {
      * Execute read row listener
      *
      * @param rowReadListeners rowReadListeners
-     * @param <R>              R
      */
-    @SuppressWarnings("unchecked")
-    public static <R> void doReadFinish(List<ExcelListener> rowReadListeners) {
-        if (rowReadListeners != null) {
-            for (ExcelListener rowReadListener : rowReadListeners) {
-                if (rowReadListener instanceof ExcelRowReadListener) {
-                    ((ExcelRowReadListener<R>) rowReadListener).readFinish();
-                }
-            }
+    @SuppressWarnings("rawtypes")
+    public static void doReadFinish(ExcelListenerTable rowReadListeners) {
+        for (ExcelRowReadListener rowReadListener : rowReadListeners.getReadFinishListeners()) {
+            rowReadListener.readFinish();
         }
     }
 
@@ -287,15 +233,11 @@ public final class ListenerChain {
      * @param <R>                R
      * @return Whether to continue reading the row
      */
-    @SuppressWarnings("unchecked")
-    public static <R> boolean doReadEmpty(List<ExcelListener> emptyReadListeners, R r, int rowIndex, int colIndex) {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <R> boolean doReadEmpty(ExcelListenerTable emptyReadListeners, R r, int rowIndex, int colIndex) {
         boolean isSave = false;
-        if (emptyReadListeners != null) {
-            for (ExcelListener emptyReadListener : emptyReadListeners) {
-                if (emptyReadListener instanceof ExcelEmptyReadListener) {
-                    isSave = ((ExcelEmptyReadListener<R>) emptyReadListener).readEmpty(r, rowIndex, colIndex);
-                }
-            }
+        for (ExcelEmptyReadListener emptyReadListener : emptyReadListeners.getReadEmptyListeners()) {
+            isSave = ((ExcelEmptyReadListener<R>) emptyReadListener).readEmpty(r, rowIndex, colIndex);
         }
         return isSave;
     }
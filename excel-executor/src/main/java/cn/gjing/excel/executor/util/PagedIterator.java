@@ -0,0 +1,58 @@
+package cn.gjing.excel.executor.util;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * Iterate the elements of the pages returned by the page fetcher,
+ * the next page is fetched only after all elements of the current page are consumed
+ * and the reference to the current page is released before fetching, so only one page is held at a time
+ *
+ * @author Gjing
+ **/
+public final class PagedIterator implements Iterator<Object> {
+    private final IntFunction<? extends List<?>> pageFetcher;
+    private List<?> page;
+    private int pageIndex;
+    private int elementIndex;
+    private boolean end;
+
+    /**
+     * Create a paged iterator
+     *
+     * @param pageFetcher Page fetcher, the parameter is the page index (base 0),
+     *                    a null or empty page means that there is no more data
+     */
+    public PagedIterator(IntFunction<? extends List<?>> pageFetcher) {
+        this.pageFetcher = pageFetcher;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.end) {
+            return false;
+        }
+        if (this.page != null && this.elementIndex < this.page.size()) {
+            return true;
+        }
+        this.page = null;
+        this.page = this.pageFetcher.apply(this.pageIndex++);
+        this.elementIndex = 0;
+        if (this.page == null || this.page.isEmpty()) {
+            this.page = null;
+            this.end = true;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Object next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.page.get(this.elementIndex++);
+    }
+}
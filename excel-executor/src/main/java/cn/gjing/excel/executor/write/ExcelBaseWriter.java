@@ -3,14 +3,18 @@ package cn.gjing.excel.executor.write;
 import cn.gjing.excel.base.aware.ExcelWorkbookAware;
 import cn.gjing.excel.base.aware.ExcelWriteContextAware;
 import cn.gjing.excel.base.context.ExcelWriterContext;
+import cn.gjing.excel.base.exception.ExcelException;
 import cn.gjing.excel.base.listener.write.ExcelWriteListener;
 import cn.gjing.excel.base.meta.ExcelInitializerMeta;
 import cn.gjing.excel.base.meta.ExcelType;
 import cn.gjing.excel.base.meta.ExecMode;
+import cn.gjing.excel.base.meta.WriteEngine;
 import cn.gjing.excel.base.util.ParamUtils;
 import cn.gjing.excel.executor.util.ListenerChain;
 import cn.gjing.excel.executor.write.core.ExcelBaseWriteExecutor;
 import cn.gjing.excel.executor.write.core.ExcelClassWriterExecutor;
+import cn.gjing.excel.executor.write.stream.DirectXlsxWorkbook;
+import cn.gjing.excel.executor.write.stream.SpillXlsxWorkbook;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -56,19 +60,41 @@ public abstract class ExcelBaseWriter {
                 context.setWorkbook(new HSSFWorkbook());
                 break;
             case XLSX:
-                context.setWorkbook(new SXSSFWorkbook(windowSize));
+                if (context.getWriteEngine() == WriteEngine.DIRECT && this.response != null) {
+                    context.setWorkbook(new DirectXlsxWorkbook(windowSize, context.getSpillOptions(), context::getRowCountHint,
+                            () -> this.writeExecutor.getOutputStream(this.response, context)));
+                } else {
+                    context.setWorkbook(new SpillXlsxWorkbook(windowSize, context.getSpillOptions(), context::getRowCountHint));
+                }
+                this.setCompressionLevel(context.getCompressionLevel());
                 break;
             default:
         }
         this.writeExecutor = new ExcelClassWriterExecutor(context);
     }
 
+    /**
+     * Set the deflate level of the entries of the exported file, only for xlsx
+     *
+     * @param compressionLevel Deflate level from 0 (no compression) to 9, or -1 for the default level
+     */
+    protected void setCompressionLevel(int compressionLevel) {
+        if (compressionLevel < -1 || compressionLevel > 9) {
+            this.close();
+            throw new ExcelException("Invalid compression level " + compressionLevel + ", it must be between -1 and 9");
+        }
+        this.context.setCompressionLevel(compressionLevel);
+        if (this.context.getWorkbook() instanceof SpillXlsxWorkbook) {
+            ((SpillXlsxWorkbook) this.context.getWorkbook()).setCompressionLevel(compressionLevel);
+        }
+    }
+
     /**
      * Flush all content to excel of the cache
      */
     public void flush() {
         try {
-            if (ListenerChain.doWorkbookFlushBefore(this.context.getListenerCache(), this.context.getWorkbook())) {
+            if (ListenerChain.doWorkbookFlushBefore(this.context.getListenerTable(), this.context.getWorkbook())) {
                 this.processBind();
                 this.writeExecutor.flush(this.response, this.context);
             }
@@ -78,13 +104,17 @@ public abstract class ExcelBaseWriter {
     }
 
     /**
-     * Flush all content to excel of the cache to local
+     * Flush all content to excel of the cache to local,
+     * a writer of the direct write engine whose rows are already written into the response cannot be flushed to local
      *
      * @param path Absolute path to the directory where the file is stored
      */
     public void flushToLocal(String path) {
         try {
-            if (ListenerChain.doWorkbookFlushBefore(this.context.getListenerCache(), this.context.getWorkbook())) {
+            if (this.context.getWorkbook() instanceof DirectXlsxWorkbook && ((DirectXlsxWorkbook) this.context.getWorkbook()).isStreaming()) {
+                throw new ExcelException("The rows are already written into the response by the direct write engine, the writer can only be flushed to the response");
+            }
+            if (ListenerChain.doWorkbookFlushBefore(this.context.getListenerTable(), this.context.getWorkbook())) {
                 this.processBind();
                 this.writeExecutor.flushToLocal(path, this.context);
             }
@@ -106,7 +136,7 @@ public abstract class ExcelBaseWriter {
         }
         sheet = this.context.getWorkbook().createSheet(sheetName);
         this.context.setSheet(sheet);
-        ListenerChain.doCompleteSheet(this.context.getListenerCache(), sheet);
+        ListenerChain.doCompleteSheet(this.context.getListenerTable(), sheet);
     }
 
     /**
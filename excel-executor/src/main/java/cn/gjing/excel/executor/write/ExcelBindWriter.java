@@ -1,20 +1,36 @@
 package cn.gjing.excel.executor.write;
 
 import cn.gjing.excel.base.BigTitle;
+import cn.gjing.excel.base.SpillOptions;
 import cn.gjing.excel.base.annotation.Excel;
 import cn.gjing.excel.base.context.ExcelWriterContext;
 import cn.gjing.excel.base.exception.ExcelException;
 import cn.gjing.excel.base.listener.ExcelListener;
+import cn.gjing.excel.base.listener.ExcelListenerTable;
 import cn.gjing.excel.base.listener.write.ExcelWriteListener;
 import cn.gjing.excel.base.meta.ExecMode;
 import cn.gjing.excel.base.meta.WRMode;
 import cn.gjing.excel.executor.read.ExcelClassReader;
 import cn.gjing.excel.executor.util.BeanUtils;
+import cn.gjing.excel.executor.util.PagedIterator;
+import cn.gjing.excel.executor.write.stream.DirectXlsxWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.util.StringUtils;
 
 import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Excel class writer
@@ -69,12 +85,53 @@ public final class ExcelBindWriter extends ExcelBaseWriter {
      * @return this
      */
     public ExcelBindWriter write(List<?> data, String sheetName, boolean needHead) {
+        int rowCountHint = super.context.getRowCountHint();
+        if (data != null && rowCountHint < 0) {
+            super.context.setRowCountHint(data.size());
+        }
+        try {
+            return this.writeIterator(data == null ? null : data.iterator(), sheetName, needHead);
+        } finally {
+            super.context.setRowCountHint(rowCountHint);
+        }
+    }
+
+    /**
+     * To write, the data is pulled from the iterator while writing
+     *
+     * @param data data iterator
+     * @return this
+     */
+    public ExcelBindWriter writeIterator(Iterator<?> data) {
+        return this.writeIterator(data, super.defaultSheetName, true);
+    }
+
+    /**
+     * To write, the data is pulled from the iterator while writing
+     *
+     * @param data      data iterator
+     * @param sheetName sheet name
+     * @return this
+     */
+    public ExcelBindWriter writeIterator(Iterator<?> data, String sheetName) {
+        return this.writeIterator(data, sheetName, true);
+    }
+
+    /**
+     * To write, the data is pulled from the iterator while writing
+     *
+     * @param data      data iterator
+     * @param sheetName sheet name
+     * @param needHead  need to write the header
+     * @return this
+     */
+    public ExcelBindWriter writeIterator(Iterator<?> data, String sheetName, boolean needHead) {
         try {
             super.createSheet(sheetName);
             if (needHead) {
                 super.writeExecutor.writeHead();
             }
-            if (data != null && !data.isEmpty()) {
+            if (data != null && data.hasNext()) {
                 super.writeExecutor.writeBody(data);
             }
         } catch (Exception e) {
@@ -84,6 +141,195 @@ public final class ExcelBindWriter extends ExcelBaseWriter {
         return this;
     }
 
+    /**
+     * To write, the data is pulled from the stream while writing and the stream is closed after written
+     *
+     * @param data data stream
+     * @return this
+     */
+    public ExcelBindWriter writeStream(Stream<?> data) {
+        return this.writeStream(data, super.defaultSheetName, true);
+    }
+
+    /**
+     * To write, the data is pulled from the stream while writing and the stream is closed after written
+     *
+     * @param data      data stream
+     * @param sheetName sheet name
+     * @return this
+     */
+    public ExcelBindWriter writeStream(Stream<?> data, String sheetName) {
+        return this.writeStream(data, sheetName, true);
+    }
+
+    /**
+     * To write, the data is pulled from the stream while writing and the stream is closed after written
+     *
+     * @param data      data stream
+     * @param sheetName sheet name
+     * @param needHead  need to write the header
+     * @return this
+     */
+    public ExcelBindWriter writeStream(Stream<?> data, String sheetName, boolean needHead) {
+        if (data == null) {
+            return this.writeIterator(null, sheetName, needHead);
+        }
+        try (Stream<?> stream = data) {
+            return this.writeIterator(stream.iterator(), sheetName, needHead);
+        }
+    }
+
+    /**
+     * To write page by page, the next page is fetched only after the previous page is written
+     *
+     * @param pageFetcher Page fetcher, the parameter is the page index (base 0),
+     *                    returns null or an empty list if there is no more data
+     * @return this
+     */
+    public ExcelBindWriter writePages(IntFunction<? extends List<?>> pageFetcher) {
+        return this.writePages(pageFetcher, super.defaultSheetName, true);
+    }
+
+    /**
+     * To write page by page, the next page is fetched only after the previous page is written
+     *
+     * @param pageFetcher Page fetcher, the parameter is the page index (base 0),
+     *                    returns null or an empty list if there is no more data
+     * @param sheetName   sheet name
+     * @return this
+     */
+    public ExcelBindWriter writePages(IntFunction<? extends List<?>> pageFetcher, String sheetName) {
+        return this.writePages(pageFetcher, sheetName, true);
+    }
+
+    /**
+     * To write page by page, the next page is fetched only after the previous page is written
+     *
+     * @param pageFetcher Page fetcher, the parameter is the page index (base 0),
+     *                    returns null or an empty list if there is no more data
+     * @param sheetName   sheet name
+     * @param needHead    need to write the header
+     * @return this
+     */
+    public ExcelBindWriter writePages(IntFunction<? extends List<?>> pageFetcher, String sheetName, boolean needHead) {
+        return this.writeIterator(pageFetcher == null ? null : new PagedIterator(pageFetcher), sheetName, needHead);
+    }
+
+    /**
+     * To write several sheets in parallel, each sheet is written by its own thread
+     *
+     * @param sheets Data of each sheet, the key is the sheet name, the sheets are created in the iteration order
+     * @return this
+     * @see #writeSheets(Map, boolean, Executor)
+     */
+    public ExcelBindWriter writeSheets(Map<String, ? extends List<?>> sheets) {
+        return this.writeSheets(sheets, true);
+    }
+
+    /**
+     * To write several sheets in parallel, each sheet is written by its own thread,
+     * at most as many threads as available processors are used
+     *
+     * @param sheets   Data of each sheet, the key is the sheet name, the sheets are created in the iteration order
+     * @param needHead need to write the header
+     * @return this
+     * @see #writeSheets(Map, boolean, Executor)
+     */
+    public ExcelBindWriter writeSheets(Map<String, ? extends List<?>> sheets, boolean needHead) {
+        return this.writeSheets(sheets, needHead, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * To write several sheets in parallel, each sheet is written by its own thread
+     *
+     * @param sheets      Data of each sheet, the key is the sheet name, the sheets are created in the iteration order
+     * @param needHead    need to write the header
+     * @param parallelism Maximum number of threads
+     * @return this
+     * @see #writeSheets(Map, boolean, Executor)
+     */
+    public ExcelBindWriter writeSheets(Map<String, ? extends List<?>> sheets, boolean needHead, int parallelism) {
+        if (sheets == null || sheets.size() < 2 || parallelism < 2) {
+            return this.writeSheets(sheets, needHead, Runnable::run);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(sheets.size(), parallelism));
+        try {
+            return this.writeSheets(sheets, needHead, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * To write several sheets in parallel, the sheets are created on the calling thread,
+     * then the rows of each sheet are written by a task of the executor and the method returns when all sheets are written.
+     * the sheets are assembled into the workbook with the shared styles when it is flushed.
+     * the listeners are invoked one at a time and see the sheet of the calling task as the current sheet,
+     * the field converters are shared by the tasks.
+     * only xlsx is written in parallel, the sheets of xls or of the direct write engine are written one after another
+     *
+     * @param sheets   Data of each sheet, the key is the sheet name, the sheets are created in the iteration order
+     * @param needHead need to write the header
+     * @param executor Executor running the sheet tasks
+     * @return this
+     */
+    public ExcelBindWriter writeSheets(Map<String, ? extends List<?>> sheets, boolean needHead, Executor executor) {
+        if (sheets == null || sheets.isEmpty()) {
+            return this;
+        }
+        if (!(super.context.getWorkbook() instanceof SXSSFWorkbook) || super.context.getWorkbook() instanceof DirectXlsxWorkbook) {
+            sheets.forEach((sheetName, data) -> this.write(data, sheetName, needHead));
+            return this;
+        }
+        try {
+            List<Sheet> created = new ArrayList<>(sheets.size());
+            int rowCountHint = super.context.getRowCountHint();
+            try {
+                for (Map.Entry<String, ? extends List<?>> entry : sheets.entrySet()) {
+                    if (rowCountHint < 0 && entry.getValue() != null) {
+                        super.context.setRowCountHint(entry.getValue().size());
+                    }
+                    super.createSheet(entry.getKey());
+                    created.add(super.context.getSheet());
+                }
+            } finally {
+                super.context.setRowCountHint(rowCountHint);
+            }
+            ExcelListenerTable listeners = super.context.getListenerTable().synchronize(new Object());
+            CompletableFuture<?>[] tasks = new CompletableFuture<?>[created.size()];
+            int i = 0;
+            for (List<?> data : sheets.values()) {
+                Sheet sheet = created.get(i);
+                tasks[i++] = CompletableFuture.runAsync(() -> this.writeSheet(sheet, data, needHead, listeners), executor);
+            }
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            super.close();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ExcelException("Failed to write the sheets, " + e.getCause().getMessage());
+        } catch (Exception e) {
+            super.close();
+            throw e;
+        }
+        return this;
+    }
+
+    private void writeSheet(Sheet sheet, List<?> data, boolean needHead, ExcelListenerTable listeners) {
+        super.context.bindSheet(sheet, listeners);
+        try {
+            if (needHead) {
+                super.writeExecutor.writeHead();
+            }
+            if (data != null && !data.isEmpty()) {
+                super.writeExecutor.writeBody(data.iterator());
+            }
+        } finally {
+            super.context.unbindSheet();
+        }
+    }
+
     /**
      * To write big title
      *
@@ -186,6 +432,57 @@ public final class ExcelBindWriter extends ExcelBaseWriter {
         return this;
     }
 
+    /**
+     * Set the expected number of rows of the sheets created next, used to keep the rows of small sheets in memory
+     * according to {@link SpillOptions#getMemoryRowThreshold()}. if not set, the size of the written list is used
+     *
+     * @param rowCountHint Expected number of rows, negative is unknown
+     * @return this
+     */
+    public ExcelBindWriter rowCountHint(int rowCountHint) {
+        super.context.setRowCountHint(rowCountHint);
+        return this;
+    }
+
+    /**
+     * Convert the body rows of the sheets written next in parallel, the field values are read and converted
+     * by expressions or converters on a pool created for each written body, while the rows are still created in order
+     * and the listeners are invoked on the writing thread. only used when some field is converted,
+     * so the converters must be thread-safe
+     *
+     * @param parallelism Number of converting threads, less than 2 converts the rows on the writing thread
+     * @return this
+     */
+    public ExcelBindWriter parallelRows(int parallelism) {
+        return this.parallelRows(parallelism, null);
+    }
+
+    /**
+     * Convert the body rows of the sheets written next in parallel with the executor
+     *
+     * @param parallelism Number of row chunks converted at the same time, less than 2 converts the rows on the writing thread
+     * @param executor    Executor converting the rows, if null a pool is created for each written body
+     * @return this
+     * @see #parallelRows(int)
+     */
+    public ExcelBindWriter parallelRows(int parallelism, Executor executor) {
+        super.context.setRowParallelism(parallelism);
+        super.context.setRowExecutor(executor);
+        return this;
+    }
+
+    /**
+     * Set the deflate level of the entries of the exported file, the low levels trade the file size for a faster write,
+     * 1 is the fastest compression and 0 stores the entries without compressing them. only for xlsx
+     *
+     * @param compressionLevel Deflate level from 0 to 9, or -1 for the default level
+     * @return this
+     */
+    public ExcelBindWriter compressionLevel(int compressionLevel) {
+        super.setCompressionLevel(compressionLevel);
+        return this;
+    }
+
     /**
      * Add write listener
      *
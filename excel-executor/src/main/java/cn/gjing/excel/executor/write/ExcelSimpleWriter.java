@@ -2,6 +2,7 @@ package cn.gjing.excel.executor.write;
 
 import cn.gjing.excel.base.BigTitle;
 import cn.gjing.excel.base.ExcelFieldProperty;
+import cn.gjing.excel.base.SpillOptions;
 import cn.gjing.excel.base.context.ExcelWriterContext;
 import cn.gjing.excel.base.exception.ExcelException;
 import cn.gjing.excel.base.listener.write.ExcelWriteListener;
@@ -9,13 +10,18 @@ import cn.gjing.excel.base.meta.ExecMode;
 import cn.gjing.excel.base.meta.WRMode;
 import cn.gjing.excel.executor.read.ExcelClassReader;
 import cn.gjing.excel.executor.util.BeanUtils;
+import cn.gjing.excel.executor.util.PagedIterator;
 import org.springframework.util.StringUtils;
 
 import javax.servlet.http.HttpServletResponse;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
 
 /**
  * Excel simple writer
@@ -159,13 +165,55 @@ public final class ExcelSimpleWriter extends ExcelBaseWriter {
      * @return this
      */
     public ExcelSimpleWriter write(List<?> data, String sheetName, boolean needHead) {
+        int rowCountHint = super.context.getRowCountHint();
+        if (data != null && rowCountHint < 0) {
+            super.context.setRowCountHint(data.size());
+        }
+        try {
+            return this.writeIterator(data == null ? null : data.iterator(), sheetName, needHead);
+        } finally {
+            super.context.setRowCountHint(rowCountHint);
+        }
+    }
+
+    /**
+     * To write, the data is pulled from the iterator while writing
+     *
+     * @param data data iterator
+     * @return this
+     */
+    public ExcelSimpleWriter writeIterator(Iterator<?> data) {
+        return this.writeIterator(data, super.defaultSheetName, true);
+    }
+
+    /**
+     * To write, the data is pulled from the iterator while writing
+     *
+     * @param data      data iterator
+     * @param sheetName sheet name
+     * @return this
+     */
+    public ExcelSimpleWriter writeIterator(Iterator<?> data, String sheetName) {
+        return this.writeIterator(data, sheetName, true);
+    }
+
+    /**
+     * To write, the data is pulled from the iterator while writing
+     *
+     * @param data      data iterator
+     * @param sheetName sheet name
+     * @param needHead  need to write the header
+     * @return this
+     */
+    public ExcelSimpleWriter writeIterator(Iterator<?> data, String sheetName, boolean needHead) {
         try {
             super.createSheet(sheetName);
             if (needHead) {
                 super.writeExecutor.writeHead();
             }
-            if (data != null && !data.isEmpty()) {
-                List<Field> fields = BeanUtils.getAllFields(data.get(0).getClass());
+            if (data != null && data.hasNext()) {
+                Object first = data.next();
+                List<Field> fields = BeanUtils.getAllFields(first.getClass());
                 for (int i = 0, count = super.context.getFieldProperties().size(); i < count; i++) {
                     if (this.fieldSelector == null) {
                         super.context.getFieldProperties().get(i).setField(fields.get(i));
@@ -173,7 +221,24 @@ public final class ExcelSimpleWriter extends ExcelBaseWriter {
                         super.context.getFieldProperties().get(i).setField(this.fieldSelector.apply(i, fields));
                     }
                 }
-                super.writeExecutor.writeBody(data);
+                super.writeExecutor.writeBody(new Iterator<Object>() {
+                    private Object head = first;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.head != null || data.hasNext();
+                    }
+
+                    @Override
+                    public Object next() {
+                        if (this.head == null) {
+                            return data.next();
+                        }
+                        Object o = this.head;
+                        this.head = null;
+                        return o;
+                    }
+                });
             }
         } catch (Exception e) {
             super.close();
@@ -182,6 +247,80 @@ public final class ExcelSimpleWriter extends ExcelBaseWriter {
         return this;
     }
 
+    /**
+     * To write, the data is pulled from the stream while writing and the stream is closed after written
+     *
+     * @param data data stream
+     * @return this
+     */
+    public ExcelSimpleWriter writeStream(Stream<?> data) {
+        return this.writeStream(data, super.defaultSheetName, true);
+    }
+
+    /**
+     * To write, the data is pulled from the stream while writing and the stream is closed after written
+     *
+     * @param data      data stream
+     * @param sheetName sheet name
+     * @return this
+     */
+    public ExcelSimpleWriter writeStream(Stream<?> data, String sheetName) {
+        return this.writeStream(data, sheetName, true);
+    }
+
+    /**
+     * To write, the data is pulled from the stream while writing and the stream is closed after written
+     *
+     * @param data      data stream
+     * @param sheetName sheet name
+     * @param needHead  need to write the header
+     * @return this
+     */
+    public ExcelSimpleWriter writeStream(Stream<?> data, String sheetName, boolean needHead) {
+        if (data == null) {
+            return this.writeIterator(null, sheetName, needHead);
+        }
+        try (Stream<?> stream = data) {
+            return this.writeIterator(stream.iterator(), sheetName, needHead);
+        }
+    }
+
+    /**
+     * To write page by page, the next page is fetched only after the previous page is written
+     *
+     * @param pageFetcher Page fetcher, the parameter is the page index (base 0),
+     *                    returns null or an empty list if there is no more data
+     * @return this
+     */
+    public ExcelSimpleWriter writePages(IntFunction<? extends List<?>> pageFetcher) {
+        return this.writePages(pageFetcher, super.defaultSheetName, true);
+    }
+
+    /**
+     * To write page by page, the next page is fetched only after the previous page is written
+     *
+     * @param pageFetcher Page fetcher, the parameter is the page index (base 0),
+     *                    returns null or an empty list if there is no more data
+     * @param sheetName   sheet name
+     * @return this
+     */
+    public ExcelSimpleWriter writePages(IntFunction<? extends List<?>> pageFetcher, String sheetName) {
+        return this.writePages(pageFetcher, sheetName, true);
+    }
+
+    /**
+     * To write page by page, the next page is fetched only after the previous page is written
+     *
+     * @param pageFetcher Page fetcher, the parameter is the page index (base 0),
+     *                    returns null or an empty list if there is no more data
+     * @param sheetName   sheet name
+     * @param needHead    need to write the header
+     * @return this
+     */
+    public ExcelSimpleWriter writePages(IntFunction<? extends List<?>> pageFetcher, String sheetName, boolean needHead) {
+        return this.writeIterator(pageFetcher == null ? null : new PagedIterator(pageFetcher), sheetName, needHead);
+    }
+
     /**
      * Field selector that assigns a specified field to an Excel field property
      *
@@ -195,6 +334,57 @@ public final class ExcelSimpleWriter extends ExcelBaseWriter {
         return this;
     }
 
+    /**
+     * Set the expected number of rows of the sheets created next, used to keep the rows of small sheets in memory
+     * according to {@link SpillOptions#getMemoryRowThreshold()}. if not set, the size of the written list is used
+     *
+     * @param rowCountHint Expected number of rows, negative is unknown
+     * @return this
+     */
+    public ExcelSimpleWriter rowCountHint(int rowCountHint) {
+        super.context.setRowCountHint(rowCountHint);
+        return this;
+    }
+
+    /**
+     * Convert the body rows of the sheets written next in parallel, the field values are read and converted
+     * by expressions or converters on a pool created for each written body, while the rows are still created in order
+     * and the listeners are invoked on the writing thread. only used when some field is converted,
+     * so the converters must be thread-safe
+     *
+     * @param parallelism Number of converting threads, less than 2 converts the rows on the writing thread
+     * @return this
+     */
+    public ExcelSimpleWriter parallelRows(int parallelism) {
+        return this.parallelRows(parallelism, null);
+    }
+
+    /**
+     * Convert the body rows of the sheets written next in parallel with the executor
+     *
+     * @param parallelism Number of row chunks converted at the same time, less than 2 converts the rows on the writing thread
+     * @param executor    Executor converting the rows, if null a pool is created for each written body
+     * @return this
+     * @see #parallelRows(int)
+     */
+    public ExcelSimpleWriter parallelRows(int parallelism, Executor executor) {
+        super.context.setRowParallelism(parallelism);
+        super.context.setRowExecutor(executor);
+        return this;
+    }
+
+    /**
+     * Set the deflate level of the entries of the exported file, the low levels trade the file size for a faster write,
+     * 1 is the fastest compression and 0 stores the entries without compressing them. only for xlsx
+     *
+     * @param compressionLevel Deflate level from 0 to 9, or -1 for the default level
+     * @return this
+     */
+    public ExcelSimpleWriter compressionLevel(int compressionLevel) {
+        super.setCompressionLevel(compressionLevel);
+        return this;
+    }
+
     /**
      * Add write listener
      *
@@ -18,6 +18,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URLEncoder;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -50,7 +51,7 @@ public abstract class ExcelBaseWriteExecutor {
         if (bigTitle.getRowNum() == 1 && bigTitle.getFirstCol() == bigTitle.getLastCol()) {
             throw new ExcelException("Merged region must contain 2 or more cells");
         }
-        int startOffset = bigTitle.getFirstRow() == -1 ? this.context.getSheet().getLastRowNum() + 1 : bigTitle.getFirstRow();
+        int startOffset = bigTitle.getFirstRow() == -1 ? this.context.getNextRowIndex() : bigTitle.getFirstRow();
         int endOffset = startOffset + bigTitle.getRowNum() - 1;
         Row row;
         for (int i = 0; i < bigTitle.getRowNum(); i++) {
@@ -62,9 +63,10 @@ public abstract class ExcelBaseWriteExecutor {
             Cell cell = row.createCell(bigTitle.getFirstCol());
             ExcelUtils.setCellValue(cell, bigTitle.getContent());
             if (i == 0) {
-                ListenerChain.doSetTitleStyle(this.context.getListenerCache(), bigTitle, cell);
+                ListenerChain.doSetTitleStyle(this.context.getListenerTable(), bigTitle, cell);
             }
         }
+        this.context.advanceRowCursor(endOffset);
         this.context.getSheet().addMergedRegionUnsafe(new CellRangeAddress(startOffset, endOffset, bigTitle.getFirstCol(), bigTitle.getLastCol()));
     }
 
@@ -74,8 +76,8 @@ public abstract class ExcelBaseWriteExecutor {
     public void writeHead(){
         Row headRow;
         for (int level = 0; level < this.context.getHeaderSeries(); level++) {
-            ListenerChain.doCreateRowBefore(this.context.getListenerCache(), this.context.getSheet(), level, RowType.HEAD);
-            headRow = this.context.getSheet().createRow(this.context.getSheet().getLastRowNum() + 1);
+            ListenerChain.doCreateRowBefore(this.context.getListenerTable(), this.context.getSheet(), level, RowType.HEAD);
+            headRow = this.context.getSheet().createRow(this.context.nextRowIndex());
             if (this.context.getHeaderHeight() > 0) {
                 headRow.setHeight(this.context.getHeaderHeight());
             }
@@ -84,12 +86,12 @@ public abstract class ExcelBaseWriteExecutor {
                 String headName = property.getValue()[level];
                 int lastCellNum = this.context.getWrMode() == WRMode.INDEX ? property.getIndex() : headRow.getLastCellNum();
                 Cell headCell = headRow.createCell(lastCellNum == -1 ? 0 : lastCellNum);
-                ListenerChain.doSetHeadStyle(this.context.getListenerCache(), headRow, headCell, property, level);
-                headName = (String) ListenerChain.doAssignmentBefore(this.context.getListenerCache(), this.context.getSheet(), headRow, headCell, property, level, RowType.HEAD, headName);
+                ListenerChain.doSetHeadStyle(this.context.getListenerTable(), headRow, headCell, property, level);
+                headName = (String) ListenerChain.doAssignmentBefore(this.context.getListenerTable(), this.context.getSheet(), headRow, headCell, property, level, RowType.HEAD, headName);
                 headCell.setCellValue(headName);
-                ListenerChain.doCompleteCell(this.context.getListenerCache(), this.context.getSheet(), headRow, headCell, property, level, RowType.HEAD);
+                ListenerChain.doCompleteCell(this.context.getListenerTable(), this.context.getSheet(), headRow, headCell, property, level, RowType.HEAD);
             }
-            ListenerChain.doCompleteRow(this.context.getListenerCache(), this.context.getSheet(), headRow, null, level, RowType.HEAD);
+            ListenerChain.doCompleteRow(this.context.getListenerTable(), this.context.getSheet(), headRow, null, level, RowType.HEAD);
         }
     }
 
@@ -98,7 +100,17 @@ public abstract class ExcelBaseWriteExecutor {
      *
      * @param data Export data
      */
-    public abstract void writeBody(List<?> data);
+    public void writeBody(List<?> data) {
+        this.writeBody(data.iterator());
+    }
+
+    /**
+     * Write excel body, the data is pulled one by one while writing,
+     * so the written elements can be released before the rest are produced
+     *
+     * @param data Export data iterator
+     */
+    public abstract void writeBody(Iterator<?> data);
 
 
     /**
@@ -108,19 +120,9 @@ public abstract class ExcelBaseWriteExecutor {
      * @param response response
      */
     public void flush(HttpServletResponse response, ExcelWriterContext context) {
-        response.setContentType("application/vnd.ms-excel");
-        String fileName = context.getFileName() + (context.getExcelType() == ExcelType.XLS ? ".xls" : ".xlsx");
         OutputStream outputStream = null;
         try {
-            String encodeFileName = URLEncoder.encode(fileName, "utf-8").replaceAll("\\+", "%20");
-            String dispositionVal = "attachment; filename=" +
-                    encodeFileName +
-                    ";" +
-                    "filename*=" +
-                    "utf-8''" +
-                    encodeFileName;
-            response.setHeader("Content-disposition", dispositionVal);
-            outputStream = response.getOutputStream();
+            outputStream = this.getOutputStream(response, context);
             context.getWorkbook().write(outputStream);
         } catch (IOException e) {
             throw new ExcelException("Excel cache data flush failure, " + e.getMessage());
@@ -136,6 +138,31 @@ public abstract class ExcelBaseWriteExecutor {
         }
     }
 
+    /**
+     * Set the download headers of the response and get its output stream
+     *
+     * @param response response
+     * @param context  Excel write context
+     * @return Output stream of the response
+     */
+    public OutputStream getOutputStream(HttpServletResponse response, ExcelWriterContext context) {
+        response.setContentType("application/vnd.ms-excel");
+        String fileName = context.getFileName() + (context.getExcelType() == ExcelType.XLS ? ".xls" : ".xlsx");
+        try {
+            String encodeFileName = URLEncoder.encode(fileName, "utf-8").replaceAll("\\+", "%20");
+            String dispositionVal = "attachment; filename=" +
+                    encodeFileName +
+                    ";" +
+                    "filename*=" +
+                    "utf-8''" +
+                    encodeFileName;
+            response.setHeader("Content-disposition", dispositionVal);
+            return response.getOutputStream();
+        } catch (IOException e) {
+            throw new ExcelException("Excel cache data flush failure, " + e.getMessage());
+        }
+    }
+
     /**
      * Output the contents of the cache to local
      *
@@ -1,20 +1,29 @@
 package cn.gjing.excel.executor.write.core;
 
 import cn.gjing.excel.base.ExcelFieldProperty;
-import cn.gjing.excel.base.annotation.ExcelDataConvert;
 import cn.gjing.excel.base.context.ExcelWriterContext;
-import cn.gjing.excel.base.meta.ELMeta;
+import cn.gjing.excel.base.exception.ExcelException;
+import cn.gjing.excel.base.listener.ExcelListenerTable;
 import cn.gjing.excel.base.meta.RowType;
 import cn.gjing.excel.base.meta.WRMode;
 import cn.gjing.excel.executor.util.BeanUtils;
-import cn.gjing.excel.base.util.ExcelUtils;
+import cn.gjing.excel.executor.util.ExcelFieldPlan;
+import cn.gjing.excel.executor.util.ExcelVariablePlan;
 import cn.gjing.excel.executor.util.ListenerChain;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Export processor for Excel class mode
@@ -22,49 +31,223 @@ import java.util.List;
  * @author Gjing
  **/
 public class ExcelClassWriterExecutor extends ExcelBaseWriteExecutor {
+    /**
+     * Number of body rows converted by a task when the rows are converted in parallel
+     */
+    private static final int ROW_CHUNK_SIZE = 256;
+
     public ExcelClassWriterExecutor(ExcelWriterContext context) {
         super(context);
     }
 
     @Override
-    public void writeBody(List<?> data) {
+    public void writeBody(Iterator<?> data) {
         EvaluationContext context = new StandardEvaluationContext();
-        for (int dataIndex = 0, dataSize = data.size(); dataIndex < dataSize; dataIndex++) {
-            Object o = data.get(dataIndex);
-            context.setVariable(o.getClass().getSimpleName(), o);
-            ListenerChain.doCreateRowBefore(this.context.getListenerCache(), this.context.getSheet(), dataIndex, RowType.BODY);
-            Row valueRow = this.context.getSheet().createRow(this.context.getSheet().getLastRowNum() + 1);
+        ExcelFieldPlan[] plans = BeanUtils.getFieldPlans(this.context.getFieldProperties());
+        ExcelListenerTable listeners = this.context.getListenerTable();
+        ExcelVariablePlan variables = ExcelVariablePlan.ofWrite(plans);
+        if (this.context.getRowParallelism() > 1 && this.isConverted(plans)) {
+            this.writeBodyParallel(data, plans, listeners, variables);
+            return;
+        }
+        boolean direct = !this.isConverted(plans) && listeners.getAssignmentBeforeListeners().length == 0;
+        Class<?> rowType = null;
+        boolean rowReferenced = false;
+        for (int dataIndex = 0; data.hasNext(); dataIndex++) {
+            Object o = data.next();
+            if (!variables.isEmpty()) {
+                if (o.getClass() != rowType) {
+                    rowType = o.getClass();
+                    rowReferenced = variables.isReferenced(rowType.getSimpleName());
+                }
+                if (rowReferenced) {
+                    context.setVariable(rowType.getSimpleName(), o);
+                }
+            }
+            ListenerChain.doCreateRowBefore(listeners, this.context.getSheet(), dataIndex, RowType.BODY);
+            Row valueRow = this.context.getSheet().createRow(this.context.nextRowIndex());
             if (this.context.getBodyHeight() > 0) {
                 valueRow.setHeight(this.context.getBodyHeight());
             }
-            for (int fieldIndex = 0, headSize = this.context.getFieldProperties().size(); fieldIndex < headSize; fieldIndex++) {
+            for (int fieldIndex = 0; fieldIndex < plans.length; fieldIndex++) {
                 ExcelFieldProperty property = this.context.getFieldProperties().get(fieldIndex);
-                Object value = BeanUtils.getFieldValue(o, property.getField());
+                ExcelFieldPlan plan = plans[fieldIndex];
                 int lastCellNum = super.context.getWrMode() == WRMode.INDEX ? property.getIndex() : valueRow.getLastCellNum();
                 Cell valueCell = valueRow.createCell(lastCellNum == -1 ? 0 : lastCellNum);
-                context.setVariable(property.getField().getName(), value);
-                ListenerChain.doSetBodyStyle(this.context.getListenerCache(), valueRow, valueCell, property, dataIndex);
-                value = this.convert(value, property.getField().getAnnotation(ExcelDataConvert.class), context);
-                value = ListenerChain.doAssignmentBefore(this.context.getListenerCache(), this.context.getSheet(), valueRow, valueCell, property, dataIndex, RowType.BODY, value);
-                ExcelUtils.setCellValue(valueCell, value);
-                ListenerChain.doCompleteCell(this.context.getListenerCache(), this.context.getSheet(), valueRow, valueCell, property, dataIndex, RowType.BODY);
+                ListenerChain.doSetBodyStyle(listeners, valueRow, valueCell, property, dataIndex);
+                if (direct) {
+                    plan.getCellValueType().setCellValue(valueCell, o, plan.getAccessor());
+                } else {
+                    Object value = plan.getAccessor().get(o);
+                    if (variables.isFieldReferenced(fieldIndex)) {
+                        context.setVariable(plan.getField().getName(), value);
+                    }
+                    value = this.convert(value, plan, context);
+                    value = ListenerChain.doAssignmentBefore(listeners, this.context.getSheet(), valueRow, valueCell, property, dataIndex, RowType.BODY, value);
+                    plan.getCellValueType().setCellValue(valueCell, value);
+                }
+                ListenerChain.doCompleteCell(listeners, this.context.getSheet(), valueRow, valueCell, property, dataIndex, RowType.BODY);
             }
-            ListenerChain.doCompleteRow(this.context.getListenerCache(), this.context.getSheet(), valueRow, o, dataIndex, RowType.BODY);
+            ListenerChain.doCompleteRow(listeners, this.context.getSheet(), valueRow, o, dataIndex, RowType.BODY);
         }
     }
 
+    /**
+     * Write excel body, the field values of the rows are read and converted in chunks by the tasks of the row executor,
+     * while the current thread creates the rows in order from the converted chunks and invokes the listeners.
+     * at most twice as many chunks as the row parallelism are converted ahead of the written rows
+     *
+     * @param data      Export data iterator
+     * @param plans     Field mapping plans
+     * @param listeners Listener dispatch table
+     * @param variables EL variables referenced by the write expressions
+     */
+    private void writeBodyParallel(Iterator<?> data, ExcelFieldPlan[] plans, ExcelListenerTable listeners, ExcelVariablePlan variables) {
+        int parallelism = this.context.getRowParallelism();
+        Executor executor = this.context.getRowExecutor();
+        ExecutorService pool = null;
+        if (executor == null) {
+            pool = Executors.newFixedThreadPool(parallelism);
+            executor = pool;
+        }
+        Deque<RowChunk> chunks = new ArrayDeque<>(parallelism << 1);
+        try {
+            int dataIndex = 0;
+            while (data.hasNext() || !chunks.isEmpty()) {
+                while (chunks.size() < parallelism << 1 && data.hasNext()) {
+                    Object[] rows = new Object[ROW_CHUNK_SIZE];
+                    int size = 0;
+                    while (size < rows.length && data.hasNext()) {
+                        rows[size++] = data.next();
+                    }
+                    Object[] chunkRows = size == rows.length ? rows : Arrays.copyOf(rows, size);
+                    chunks.add(new RowChunk(chunkRows, CompletableFuture.supplyAsync(() -> this.convertRows(chunkRows, plans, variables), executor)));
+                }
+                RowChunk chunk = chunks.poll();
+                Object[][] values = chunk.values.join();
+                for (int i = 0; i < chunk.rows.length; i++, dataIndex++) {
+                    this.writeRow(chunk.rows[i], values[i], dataIndex, plans, listeners);
+                }
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ExcelException("Failed to convert the rows, " + e.getCause().getMessage());
+        } finally {
+            chunks.forEach(chunk -> chunk.values.cancel(false));
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Read and convert the field values of the rows, called by the tasks of the row executor
+     *
+     * @param rows      Row objects
+     * @param plans     Field mapping plans
+     * @param variables EL variables referenced by the write expressions
+     * @return Converted values, the first index is the row and the second is the field
+     */
+    private Object[][] convertRows(Object[] rows, ExcelFieldPlan[] plans, ExcelVariablePlan variables) {
+        EvaluationContext context = new StandardEvaluationContext();
+        Object[][] values = new Object[rows.length][plans.length];
+        Class<?> rowType = null;
+        boolean rowReferenced = false;
+        for (int i = 0; i < rows.length; i++) {
+            Object o = rows[i];
+            if (!variables.isEmpty()) {
+                if (o.getClass() != rowType) {
+                    rowType = o.getClass();
+                    rowReferenced = variables.isReferenced(rowType.getSimpleName());
+                }
+                if (rowReferenced) {
+                    context.setVariable(rowType.getSimpleName(), o);
+                }
+            }
+            for (int fieldIndex = 0; fieldIndex < plans.length; fieldIndex++) {
+                ExcelFieldPlan plan = plans[fieldIndex];
+                Object value = plan.getAccessor().get(o);
+                if (variables.isFieldReferenced(fieldIndex)) {
+                    context.setVariable(plan.getField().getName(), value);
+                }
+                values[i][fieldIndex] = this.convert(value, plan, context);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Create a body row from the converted field values
+     *
+     * @param o         Row object
+     * @param values    Converted field values
+     * @param dataIndex Data index
+     * @param plans     Field mapping plans
+     * @param listeners Listener dispatch table
+     */
+    private void writeRow(Object o, Object[] values, int dataIndex, ExcelFieldPlan[] plans, ExcelListenerTable listeners) {
+        ListenerChain.doCreateRowBefore(listeners, this.context.getSheet(), dataIndex, RowType.BODY);
+        Row valueRow = this.context.getSheet().createRow(this.context.nextRowIndex());
+        if (this.context.getBodyHeight() > 0) {
+            valueRow.setHeight(this.context.getBodyHeight());
+        }
+        for (int fieldIndex = 0; fieldIndex < plans.length; fieldIndex++) {
+            ExcelFieldProperty property = this.context.getFieldProperties().get(fieldIndex);
+            int lastCellNum = super.context.getWrMode() == WRMode.INDEX ? property.getIndex() : valueRow.getLastCellNum();
+            Cell valueCell = valueRow.createCell(lastCellNum == -1 ? 0 : lastCellNum);
+            ListenerChain.doSetBodyStyle(listeners, valueRow, valueCell, property, dataIndex);
+            Object value = ListenerChain.doAssignmentBefore(listeners, this.context.getSheet(), valueRow, valueCell, property, dataIndex, RowType.BODY, values[fieldIndex]);
+            plans[fieldIndex].getCellValueType().setCellValue(valueCell, value);
+            ListenerChain.doCompleteCell(listeners, this.context.getSheet(), valueRow, valueCell, property, dataIndex, RowType.BODY);
+        }
+        ListenerChain.doCompleteRow(listeners, this.context.getSheet(), valueRow, o, dataIndex, RowType.BODY);
+    }
+
+    /**
+     * Whether any field is converted by an expression or a converter
+     *
+     * @param plans Field mapping plans
+     * @return true if converted
+     */
+    private boolean isConverted(ExcelFieldPlan[] plans) {
+        for (ExcelFieldPlan plan : plans) {
+            if (plan.isWriteConverted()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Data convert
      *
-     * @param value            Attribute values
-     * @param excelDataConvert excelDataConvert
-     * @param context          EL context
+     * @param value   Attribute values
+     * @param plan    Field mapping plan
+     * @param context EL context
      * @return new value
      */
-    private Object convert(Object value, ExcelDataConvert excelDataConvert, EvaluationContext context) {
-        if (excelDataConvert != null && !"".equals(excelDataConvert.writeExpr())) {
-            return ELMeta.PARSER.parse(excelDataConvert.writeExpr(), context);
+    private Object convert(Object value, ExcelFieldPlan plan, EvaluationContext context) {
+        if (plan.getFieldConverter() != null) {
+            return plan.getFieldConverter().toCell(value);
+        }
+        if (plan.getWriteExpr() != null) {
+            return plan.getWriteExpr().getValue(context);
         }
         return value;
     }
+
+    /**
+     * Chunk of body rows and their converted field values
+     */
+    private static final class RowChunk {
+        private final Object[] rows;
+        private final CompletableFuture<Object[][]> values;
+
+        RowChunk(Object[] rows, CompletableFuture<Object[][]> values) {
+            this.rows = rows;
+            this.values = values;
+        }
+    }
 }
@@ -0,0 +1,323 @@
+package cn.gjing.excel.executor.write.stream;
+
+import cn.gjing.excel.base.SpillOptions;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.ooxml.POIXMLTypeLoader;
+import org.apache.poi.openxml4j.util.ZipEntrySource;
+import org.apache.poi.openxml4j.util.ZipFileZipEntrySource;
+import org.apache.poi.openxml4j.util.ZipSecureFile;
+import org.apache.poi.xssf.streaming.SXSSFRow;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.xmlbeans.XmlCursor;
+import org.apache.xmlbeans.XmlObject;
+import org.apache.xmlbeans.XmlOptions;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCols;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Xlsx workbook that writes the rows straight into the output while they are flushed out of the window.
+ * the first sheet that flushes rows is written directly into its zip entry of the output, so the client receives
+ * the data while the body is being written and the rows are never copied through a temporary file,
+ * the other sheets are spilled as usual. the workbook parts (styles, shared strings, workbook...)
+ * and the elements of the direct sheet after the sheet data (merged regions, validations...) are written when the workbook is written,
+ * so the elements before the sheet data (sheet views, column widths) must be set before the first rows of the sheet are flushed
+ *
+ * @author Gjing
+ **/
+public final class DirectXlsxWorkbook extends SpillXlsxWorkbook {
+    private static final String NS_RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String SHEET_DATA = "sheetData";
+
+    private final Supplier<OutputStream> outputSupplier;
+    private final XmlOptions fragmentOptions;
+    private ZipArchiveOutputStream zipOutput;
+    private Writer zipWriter;
+    private XSSFSheet directSheet;
+    private String directEntryName;
+    private boolean writing;
+
+    /**
+     * Create a direct xlsx workbook
+     *
+     * @param windowSize     Number of rows kept in memory for each sheet
+     * @param outputSupplier Supplier of the output, called when the first rows are flushed
+     */
+    public DirectXlsxWorkbook(int windowSize, Supplier<OutputStream> outputSupplier) {
+        this(windowSize, SpillOptions.of(), null, outputSupplier);
+    }
+
+    /**
+     * Create a direct xlsx workbook
+     *
+     * @param windowSize     Number of rows kept in memory for each sheet
+     * @param spillOptions   Spill options of the sheets that are not written directly
+     * @param rowCountHint   Expected number of rows of the sheet being created, negative is unknown
+     * @param outputSupplier Supplier of the output, called when the first rows are flushed
+     */
+    public DirectXlsxWorkbook(int windowSize, SpillOptions spillOptions, IntSupplier rowCountHint, Supplier<OutputStream> outputSupplier) {
+        super(windowSize, spillOptions, rowCountHint);
+        this.outputSupplier = outputSupplier;
+        this.fragmentOptions = new XmlOptions(POIXMLTypeLoader.DEFAULT_XML_OPTIONS);
+        this.fragmentOptions.setSaveOuter();
+        Map<String, String> namespaces = new HashMap<>();
+        namespaces.put("", XSSFRelation.NS_SPREADSHEETML);
+        namespaces.put("r", NS_RELATIONSHIPS);
+        this.fragmentOptions.setSaveImplicitNamespaces(namespaces);
+    }
+
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        return new DirectSheetDataWriter();
+    }
+
+    @Override
+    protected ZipArchiveOutputStream createArchiveOutputStream(OutputStream out) {
+        return this.zipOutput == null ? super.createArchiveOutputStream(out) : this.zipOutput;
+    }
+
+    /**
+     * Whether a sheet is already being written into the output of the supplier,
+     * the workbook can then only be written to that output
+     *
+     * @return true if streaming
+     */
+    public boolean isStreaming() {
+        return this.zipOutput != null;
+    }
+
+    /**
+     * Write the workbook, if a sheet is streamed the passed output is ignored and the remaining parts are
+     * written to the output of the streamed sheet, see {@link #isStreaming()}
+     *
+     * @param stream Output stream
+     * @throws IOException IOException
+     */
+    @Override
+    public void write(OutputStream stream) throws IOException {
+        this.writing = true;
+        if (this.zipOutput == null) {
+            super.write(stream);
+            return;
+        }
+        super.flushSheets();
+        File template = super.createTempFile("poi-sxssf-template", ".xlsx");
+        try {
+            try (OutputStream os = new FileOutputStream(template)) {
+                super._wb.write(os);
+            }
+            this.writeSheetSuffix();
+            try (ZipSecureFile zipFile = new ZipSecureFile(template);
+                 ZipEntrySource source = new SkipEntrySource(new ZipFileZipEntrySource(zipFile), this.directEntryName)) {
+                super.injectData(source, stream);
+            }
+        } finally {
+            if (!template.delete()) {
+                template.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Open the zip entry of the sheet on the output and write the elements before the sheet data
+     *
+     * @param sheet  The sheet to which the rows being flushed belong
+     * @param writer The writer of the sheet
+     * @throws IOException IOException
+     */
+    private void openDirectSheet(SXSSFSheet sheet, RedirectableWriter writer) throws IOException {
+        if (this.writing || this.zipOutput != null || this.outputSupplier == null) {
+            return;
+        }
+        this.directSheet = super._wb.getSheetAt(this.getSheetIndex(sheet));
+        this.directEntryName = this.directSheet.getPackagePart().getPartName().getName().substring(1);
+        this.zipOutput = super.createArchiveOutputStream(this.outputSupplier.get());
+        this.zipOutput.putArchiveEntry(new ZipArchiveEntry(this.directEntryName));
+        this.zipWriter = new BufferedWriter(new OutputStreamWriter(this.zipOutput, StandardCharsets.UTF_8));
+        this.zipWriter.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n<worksheet xmlns=\"");
+        this.zipWriter.write(XSSFRelation.NS_SPREADSHEETML);
+        this.zipWriter.write("\" xmlns:r=\"");
+        this.zipWriter.write(NS_RELATIONSHIPS);
+        this.zipWriter.write("\">");
+        this.writeSheetElements(true);
+        this.zipWriter.write("<sheetData>");
+        writer.redirect(this.zipWriter);
+    }
+
+    /**
+     * Write the elements after the sheet data and close the zip entry of the direct sheet,
+     * the workbook template must have been written so that the sheet elements are complete
+     *
+     * @throws IOException IOException
+     */
+    private void writeSheetSuffix() throws IOException {
+        this.zipWriter.write("</sheetData>");
+        this.writeSheetElements(false);
+        this.zipWriter.write("</worksheet>");
+        this.zipWriter.flush();
+        this.zipOutput.closeArchiveEntry();
+    }
+
+    /**
+     * Write the child elements of the direct sheet before or after the sheet data
+     *
+     * @param before Whether to write the elements before the sheet data
+     * @throws IOException IOException
+     */
+    private void writeSheetElements(boolean before) throws IOException {
+        try (XmlCursor cursor = this.directSheet.getCTWorksheet().newCursor()) {
+            if (!cursor.toFirstChild()) {
+                return;
+            }
+            boolean afterData = false;
+            do {
+                if (SHEET_DATA.equals(cursor.getName().getLocalPart())) {
+                    if (before) {
+                        return;
+                    }
+                    afterData = true;
+                    continue;
+                }
+                if (!before && !afterData) {
+                    continue;
+                }
+                XmlObject element = cursor.getObject();
+                if (element instanceof CTCols && ((CTCols) element).sizeOfColArray() == 0) {
+                    continue;
+                }
+                this.zipWriter.write(element.xmlText(this.fragmentOptions));
+            } while (cursor.toNextSibling());
+        }
+    }
+
+    /**
+     * Sheet data writer whose rows are redirected to the output if its sheet is the direct sheet
+     */
+    private final class DirectSheetDataWriter extends SpillSheetDataWriter {
+        private boolean started;
+
+        DirectSheetDataWriter() throws IOException {
+            super();
+        }
+
+        @Override
+        public Writer createWriter(File fd) throws IOException {
+            return new RedirectableWriter(super.createWriter(fd));
+        }
+
+        @Override
+        public void writeRow(int rownum, SXSSFRow row) throws IOException {
+            if (!this.started) {
+                this.started = true;
+                openDirectSheet(row.getSheet(), (RedirectableWriter) super._out);
+            }
+            super.writeRow(rownum, row);
+        }
+    }
+
+    /**
+     * Writer of the sheet data, writes to the temporary file of the sheet until it is redirected to the output
+     */
+    private static final class RedirectableWriter extends Writer {
+        private Writer target;
+        private boolean redirected;
+
+        RedirectableWriter(Writer target) {
+            this.target = target;
+        }
+
+        void redirect(Writer target) throws IOException {
+            this.target.close();
+            this.target = target;
+            this.redirected = true;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            this.target.write(c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            this.target.write(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            this.target.write(str, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.target.flush();
+        }
+
+        /**
+         * The output is shared with the other parts of the workbook, so it is only flushed
+         *
+         * @throws IOException IOException
+         */
+        @Override
+        public void close() throws IOException {
+            if (this.redirected) {
+                this.target.flush();
+            } else {
+                this.target.close();
+            }
+        }
+    }
+
+    /**
+     * Zip entry source that hides the entry of the direct sheet
+     */
+    private static final class SkipEntrySource implements ZipEntrySource {
+        private final ZipEntrySource source;
+        private final String skipName;
+
+        SkipEntrySource(ZipEntrySource source, String skipName) {
+            this.source = source;
+            this.skipName = skipName;
+        }
+
+        @Override
+        public Enumeration<? extends ZipArchiveEntry> getEntries() {
+            List<ZipArchiveEntry> entries = new ArrayList<>();
+            Enumeration<? extends ZipArchiveEntry> enumeration = this.source.getEntries();
+            while (enumeration.hasMoreElements()) {
+                ZipArchiveEntry entry = enumeration.nextElement();
+                if (!this.skipName.equals(entry.getName())) {
+                    entries.add(entry);
+                }
+            }
+            return Collections.enumeration(entries);
+        }
+
+        @Override
+        public ZipArchiveEntry getEntry(String path) {
+            return this.skipName.equals(path) ? null : this.source.getEntry(path);
+        }
+
+        @Override
+        public InputStream getInputStream(ZipArchiveEntry entry) throws IOException {
+            return this.source.getInputStream(entry);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.source.close();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return this.source.isClosed();
+        }
+    }
+}
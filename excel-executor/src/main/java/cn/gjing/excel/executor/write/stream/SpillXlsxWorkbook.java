@@ -0,0 +1,244 @@
+package cn.gjing.excel.executor.write.stream;
+
+import cn.gjing.excel.base.SpillOptions;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.xssf.streaming.SXSSFRow;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming xlsx workbook whose rows flushed out of the window are spilled according to the {@link SpillOptions},
+ * into gzip compressed temporary files, into a chosen directory, or into memory for the sheets
+ * whose row count hint is below the memory threshold until more rows than the threshold are written to them.
+ * the entries of the written file are deflated with the configured compression level
+ *
+ * @author Gjing
+ **/
+public class SpillXlsxWorkbook extends SXSSFWorkbook {
+    private final SpillOptions spillOptions;
+    private final IntSupplier rowCountHint;
+    private Path tempDir;
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * Create a spill xlsx workbook
+     *
+     * @param windowSize   Number of rows kept in memory for each sheet
+     * @param spillOptions Spill options
+     * @param rowCountHint Expected number of rows of the sheet being created, negative is unknown
+     */
+    public SpillXlsxWorkbook(int windowSize, SpillOptions spillOptions, IntSupplier rowCountHint) {
+        super(windowSize);
+        this.spillOptions = spillOptions == null ? SpillOptions.of() : spillOptions;
+        this.rowCountHint = rowCountHint;
+    }
+
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        return new SpillSheetDataWriter();
+    }
+
+    /**
+     * Set the deflate level of the entries of the written file, must be set before the file is written
+     *
+     * @param compressionLevel Deflate level from 0 (no compression) to 9, or -1 for the default level
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    @Override
+    protected ZipArchiveOutputStream createArchiveOutputStream(OutputStream out) {
+        ZipArchiveOutputStream zos = super.createArchiveOutputStream(out);
+        zos.setLevel(this.compressionLevel);
+        return zos;
+    }
+
+    /**
+     * Create a temporary file in the spill directory
+     *
+     * @param prefix File name prefix
+     * @param suffix File name suffix
+     * @return Temporary file
+     * @throws IOException IOException
+     */
+    protected File createTempFile(String prefix, String suffix) throws IOException {
+        if (this.spillOptions.getTempDir() == null || this.spillOptions.getTempDir().isEmpty()) {
+            return TempFile.createTempFile(prefix, suffix);
+        }
+        if (this.tempDir == null) {
+            this.tempDir = Files.createDirectories(Paths.get(this.spillOptions.getTempDir()));
+        }
+        return Files.createTempFile(this.tempDir, prefix, suffix).toFile();
+    }
+
+    /**
+     * Whether the rows of the sheet being created are kept in memory
+     *
+     * @return true if in memory
+     */
+    private boolean inMemory() {
+        int rows = this.rowCountHint == null ? -1 : this.rowCountHint.getAsInt();
+        return rows >= 0 && rows < this.spillOptions.getMemoryRowThreshold();
+    }
+
+    /**
+     * Sheet data writer that spills the rows according to the spill options of the workbook.
+     * the spill mode is chosen when the writer is created, that is when its sheet is created.
+     * the rows kept in memory are moved into a temporary file once more rows than the memory threshold
+     * are flushed, so that appending to the sheet later cannot keep an unbounded sheet in memory
+     */
+    @SuppressWarnings("deprecation") // POI offers no other hook than createTempFile and createWriter for the temporary file
+    protected class SpillSheetDataWriter extends SheetDataWriter {
+        private boolean memory;
+        private boolean compress;
+        private MemoryOutputStream buffer;
+        private MemoryWriter memoryWriter;
+
+        protected SpillSheetDataWriter() throws IOException {
+            super();
+        }
+
+        /**
+         * Create the temporary file, called by the constructor of the super class.
+         * the rows kept in memory get a unique file name that is only created if the rows are moved into a file,
+         * so the sheet can still be disposed.
+         * the fields of this writer are assigned here, so they must not have initializers
+         *
+         * @return Temporary file
+         * @throws IOException IOException
+         */
+        @Override
+        public File createTempFile() throws IOException {
+            this.memory = inMemory();
+            this.compress = spillOptions.isCompress();
+            if (this.memory) {
+                String dir = spillOptions.getTempDir() == null || spillOptions.getTempDir().isEmpty()
+                        ? System.getProperty("java.io.tmpdir") : spillOptions.getTempDir();
+                return new File(dir, "poi-sxssf-sheet-" + UUID.randomUUID() + (this.compress ? ".xml.gz" : ".xml"));
+            }
+            return this.compress ? SpillXlsxWorkbook.this.createTempFile("poi-sxssf-sheet-xml", ".gz")
+                    : SpillXlsxWorkbook.this.createTempFile("poi-sxssf-sheet", ".xml");
+        }
+
+        @Override
+        public Writer createWriter(File fd) throws IOException {
+            if (this.memory) {
+                this.buffer = new MemoryOutputStream();
+                this.memoryWriter = new MemoryWriter(new BufferedWriter(new OutputStreamWriter(this.buffer, StandardCharsets.UTF_8)));
+                return this.memoryWriter;
+            }
+            return super.createWriter(fd);
+        }
+
+        @Override
+        public void writeRow(int rownum, SXSSFRow row) throws IOException {
+            super.writeRow(rownum, row);
+            if (this.memory && !this.memoryWriter.closed && this.getNumberOfFlushedRows() > spillOptions.getMemoryRowThreshold()) {
+                this.spill();
+            }
+        }
+
+        /**
+         * Move the rows kept in memory into the temporary file of the sheet, the following rows are written to the file
+         *
+         * @throws IOException IOException
+         */
+        private void spill() throws IOException {
+            this.memoryWriter.target.flush();
+            File file = this.getTempFile();
+            Files.createDirectories(file.getParentFile().toPath());
+            OutputStream out = this.decorateOutputStream(new FileOutputStream(file));
+            try {
+                this.buffer.writeTo(out);
+            } catch (IOException e) {
+                out.close();
+                throw e;
+            }
+            this.memoryWriter.target = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.memory = false;
+            this.buffer = null;
+        }
+
+        @Override
+        protected OutputStream decorateOutputStream(FileOutputStream fos) throws IOException {
+            return this.compress ? new GZIPOutputStream(fos) : fos;
+        }
+
+        @Override
+        protected InputStream decorateInputStream(FileInputStream fis) throws IOException {
+            return this.compress ? new GZIPInputStream(fis) : fis;
+        }
+
+        @Override
+        public InputStream getWorksheetXMLInputStream() throws IOException {
+            if (this.memory) {
+                return this.buffer.toInputStream();
+            }
+            return super.getWorksheetXMLInputStream();
+        }
+    }
+
+    /**
+     * Writer of the rows kept in memory, its target is replaced by the temporary file when the rows are spilled
+     */
+    private static final class MemoryWriter extends Writer {
+        private Writer target;
+        private boolean closed;
+
+        MemoryWriter(Writer target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            this.target.write(c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            this.target.write(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            this.target.write(str, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.closed = true;
+            this.target.close();
+        }
+    }
+
+    /**
+     * Byte array output stream whose content is read without copying
+     */
+    private static final class MemoryOutputStream extends ByteArrayOutputStream {
+        MemoryOutputStream() {
+            super(8192);
+        }
+
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(super.buf, 0, super.count);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package cn.gjing.excel.executor;
+
+import cn.gjing.excel.base.annotation.ExcelField;
+import cn.gjing.excel.base.meta.ExcelType;
+import cn.gjing.excel.executor.read.ExcelClassReader;
+import lombok.Data;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Round trip helpers of the engine tests, the files are read back by both read engines
+ * and the rows are compared with the written records
+ *
+ * @author Gjing
+ **/
+public final class RoundTrips {
+    /**
+     * 2023-06-01 08:30:00 UTC, whole seconds so that the dates survive the serial date conversion
+     */
+    private static final long BASE_TIME = 1685608200000L;
+
+    private RoundTrips() {
+    }
+
+    /**
+     * Record with a column of each common value type, the engine tests extend it
+     * with the Excel annotation of the engine under test
+     */
+    @Data
+    public static class Record {
+        @ExcelField("Text")
+        private String text;
+
+        @ExcelField(value = "Date", format = "yyyy-MM-dd HH:mm:ss")
+        private Date date;
+
+        @ExcelField("Amount")
+        private Double amount;
+
+        @ExcelField("Count")
+        private Integer count;
+
+        @ExcelField("Flag")
+        private Boolean flag;
+    }
+
+    /**
+     * Generate records with nulls, xml special characters, surrogate pairs, padded and long strings
+     *
+     * @param size Number of records
+     * @return records
+     */
+    public static List<Record> records(int size) {
+        List<Record> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Record record = new Record();
+            record.setText(text(i));
+            record.setDate(i % 5 == 0 ? null : new Date(BASE_TIME + i * 3_600_000L));
+            record.setAmount(i % 4 == 0 ? null : i * 1.25 - 100);
+            record.setCount(i % 6 == 0 ? null : i * 1000);
+            record.setFlag(i % 3 == 0 ? null : i % 2 == 0);
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static String text(int i) {
+        switch (i % 7) {
+            case 0:
+                return null;
+            case 1:
+                return "  padded " + i + "  ";
+            case 2:
+                return "<tag a=\"" + i + "\"> & 'quote'";
+            case 3:
+                return "中文 ✓ 𝄞 " + i;
+            case 4:
+                return String.join("", Collections.nCopies(100, "long-" + i));
+            default:
+                return "text-" + i;
+        }
+    }
+
+    /**
+     * Write the records with the writer of the Excel entity
+     *
+     * @param dir        Directory of the file
+     * @param excelClass Excel entity
+     * @param records    records
+     * @return Written file
+     */
+    public static File write(Path dir, Class<?> excelClass, List<?> records) {
+        ExcelFactory.createWriter(excelClass, null).write(records).flushToLocal(dir.toString());
+        File[] files = dir.toFile().listFiles();
+        if (files == null || files.length != 1) {
+            throw new IllegalStateException("Expected a single file in " + dir);
+        }
+        return files[0];
+    }
+
+    /**
+     * Create the default sheet of the readers in a workbook built by POI, with a header row
+     *
+     * @param workbook workbook
+     * @param headers  Header names
+     * @return sheet
+     */
+    public static Sheet createSheet(Workbook workbook, String... headers) {
+        Sheet sheet = workbook.createSheet("Sheet1");
+        Row row = sheet.createRow(0);
+        for (int i = 0; i < headers.length; i++) {
+            row.createCell(i).setCellValue(headers[i]);
+        }
+        return sheet;
+    }
+
+    /**
+     * Save and close a workbook built by POI
+     *
+     * @param workbook workbook
+     * @param file     Target file
+     * @return file
+     * @throws IOException io exception
+     */
+    public static File save(Workbook workbook, Path file) throws IOException {
+        try (Workbook wb = workbook; OutputStream out = Files.newOutputStream(file)) {
+            wb.write(out);
+        }
+        return file.toFile();
+    }
+
+    /**
+     * Read all rows of the first sheet
+     *
+     * @param file       Excel file
+     * @param excelClass Excel entity
+     * @param <R>        Entity type
+     * @return rows
+     */
+    public static <R> List<R> read(File file, Class<R> excelClass) {
+        return read(ExcelFactory.createReader(file, excelClass));
+    }
+
+    /**
+     * Read all rows of the first sheet
+     *
+     * @param bytes      Content of the Excel file
+     * @param excelClass Excel entity
+     * @param excelType  Excel file type
+     * @param <R>        Entity type
+     * @return rows
+     */
+    public static <R> List<R> read(byte[] bytes, Class<R> excelClass, ExcelType excelType) {
+        return read(ExcelFactory.createReader(new ByteArrayInputStream(bytes), excelClass, excelType));
+    }
+
+    /**
+     * Read all rows of the first sheet and release the reader
+     *
+     * @param reader Excel reader
+     * @param <R>    Entity type
+     * @return rows
+     */
+    public static <R> List<R> read(ExcelClassReader<R> reader) {
+        List<R> rows = new ArrayList<>();
+        try {
+            reader.subscribe(rows::addAll).read();
+        } finally {
+            reader.finish();
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,90 @@
+package cn.gjing.excel.executor.read.event;
+
+import cn.gjing.excel.base.annotation.Excel;
+import cn.gjing.excel.base.exception.ExcelException;
+import cn.gjing.excel.base.meta.ExcelType;
+import cn.gjing.excel.base.meta.ReadEngine;
+import cn.gjing.excel.executor.ExcelFactory;
+import cn.gjing.excel.executor.RoundTrips;
+import cn.gjing.excel.executor.RoundTrips.Record;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The shared strings spilled to a temporary file must be looked up as they were added
+ *
+ * @author Gjing
+ **/
+class MappedSharedStringsTest {
+    @TempDir
+    Path dir;
+
+    @Excel(value = "records", type = ExcelType.XLSX, sstTempFile = true)
+    public static class UserRecord extends Record {
+    }
+
+    @Excel(value = "records", type = ExcelType.XLSX, readEngine = ReadEngine.EVENT_MODEL, sstTempFile = true, sstCacheSize = 16)
+    public static class EventRecord extends Record {
+    }
+
+    @Excel(value = "records", type = ExcelType.XLSX, readEngine = ReadEngine.EVENT_MODEL, sstTempFile = true, sstCacheSize = -1)
+    public static class NegativeCacheRecord extends Record {
+    }
+
+    @Test
+    void lookUpStringsOutsideTheCache() {
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            strings.add(i % 1000 == 0 ? "" : i % 1000 == 1 ? String.join("", Collections.nCopies(20000, "中𝄞" + i)) : "string " + i);
+        }
+        try (MappedSharedStrings sharedStrings = new MappedSharedStrings(8, 64)) {
+            strings.forEach(sharedStrings::add);
+            sharedStrings.finish();
+            assertEquals(strings.size(), sharedStrings.size());
+            Random random = new Random(42);
+            for (int i = 0; i < 20000; i++) {
+                int index = random.nextInt(strings.size());
+                assertEquals(strings.get(index), sharedStrings.get(index));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> sharedStrings.get(strings.size()));
+            assertThrows(IllegalStateException.class, () -> sharedStrings.add("late"));
+        }
+    }
+
+    @Test
+    void readStringsThroughTemporaryFile() throws Exception {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        Sheet sheet = RoundTrips.createSheet(workbook, "Text");
+        List<Record> expected = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            // every string is used twice, far apart, so that most lookups miss the cache
+            String text = "string " + (i % 2000) + (i % 3 == 0 ? " 中文 𝄞" : "");
+            sheet.createRow(i + 1).createCell(0).setCellValue(text);
+            Record record = new Record();
+            record.setText(text);
+            expected.add(record);
+        }
+        File file = RoundTrips.save(workbook, this.dir.resolve("records.xlsx"));
+
+        assertEquals(expected, RoundTrips.read(file, UserRecord.class));
+        assertEquals(expected, RoundTrips.read(file, EventRecord.class));
+    }
+
+    @Test
+    void rejectNegativeCacheSize() {
+        File file = RoundTrips.write(this.dir, UserRecord.class, RoundTrips.records(10));
+        assertThrows(ExcelException.class, () -> ExcelFactory.createReader(file, NegativeCacheRecord.class));
+    }
+}
@@ -0,0 +1,130 @@
+package cn.gjing.excel.executor.read.event;
+
+import cn.gjing.excel.base.annotation.Excel;
+import cn.gjing.excel.base.meta.ExcelType;
+import cn.gjing.excel.base.meta.ReadEngine;
+import cn.gjing.excel.executor.RoundTrips;
+import cn.gjing.excel.executor.RoundTrips.Record;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.usermodel.HSSFFont;
+import org.apache.poi.hssf.usermodel.HSSFRichTextString;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The rows of xls files read by the event model must equal the rows read by the user model
+ *
+ * @author Gjing
+ **/
+class XlsEventReaderTest {
+    @TempDir
+    Path dir;
+
+    @Excel(value = "records")
+    public static class UserRecord extends Record {
+    }
+
+    @Excel(value = "records", readEngine = ReadEngine.EVENT_MODEL)
+    public static class EventRecord extends Record {
+    }
+
+    @Test
+    void readWrittenRecords() {
+        List<Record> records = RoundTrips.records(500);
+        File file = RoundTrips.write(this.dir, UserRecord.class, records);
+        assertEquals(records, RoundTrips.read(file, UserRecord.class));
+        assertEquals(records, RoundTrips.read(file, EventRecord.class));
+    }
+
+    @Test
+    void readContinuedAndFormulaStrings() throws Exception {
+        HSSFWorkbook workbook = new HSSFWorkbook();
+        Sheet sheet = RoundTrips.createSheet(workbook, "Text", "Date", "Amount", "Count", "Flag");
+        CellStyle builtinDate = workbook.createCellStyle();
+        builtinDate.setDataFormat((short) 14);
+        CellStyle customDate = workbook.createCellStyle();
+        customDate.setDataFormat(workbook.createDataFormat().getFormat("yyyy/mm/dd hh:mm:ss"));
+        HSSFRichTextString rich = new HSSFRichTextString("rich bold text");
+        HSSFFont bold = workbook.createFont();
+        bold.setBold(true);
+        rich.applyFont(5, 9, bold);
+        Date time = new Date(1685608200000L);
+
+        List<Record> expected = new ArrayList<>();
+        // enough distinct strings for the shared strings table to span several CONTINUE records,
+        // with a long string that mixes compressed and 16-bit characters across a record boundary
+        for (int i = 0; i < 3000; i++) {
+            String text = i == 1500 ? String.join("", Collections.nCopies(2000, "ab中文cd✓ ")) : "shared string " + i;
+            Row row = sheet.createRow(expected.size() + 1);
+            row.createCell(0).setCellValue(text);
+            expected.add(record(text, null, null, null, null));
+        }
+        Row row = sheet.createRow(expected.size() + 1);
+        row.createCell(0).setCellValue(rich);
+        row.createCell(1).setCellValue(time);
+        row.getCell(1).setCellStyle(customDate);
+        row.createCell(2).setCellFormula("1/4");
+        row.createCell(3).setCellFormula("2*21");
+        row.createCell(4).setCellFormula("1<2");
+        expected.add(record("rich bold text", time, 0.25, 42, true));
+        row = sheet.createRow(expected.size() + 1);
+        row.createCell(0).setCellFormula("\"for\"&\"mula\"");
+        row.createCell(1).setCellValue(time);
+        row.getCell(1).setCellStyle(builtinDate);
+        expected.add(record("formula", time, null, null, null));
+        workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+        File file = RoundTrips.save(workbook, this.dir.resolve("records.xls"));
+
+        assertEquals(expected, RoundTrips.read(file, UserRecord.class));
+        assertEquals(expected, RoundTrips.read(file, EventRecord.class));
+    }
+
+    @Test
+    void readDatesOf1904Epoch() throws Exception {
+        HSSFWorkbook template = new HSSFWorkbook();
+        ((DateWindow1904Record) template.getInternalWorkbook().findFirstRecordBySid(DateWindow1904Record.sid)).setWindowing((short) 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        template.write(out);
+        template.close();
+        // the date window of the user model is only read when the file is loaded
+        HSSFWorkbook workbook = new HSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+        Sheet sheet = RoundTrips.createSheet(workbook, "Text", "Date");
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+        Date time = new Date(1685608200000L);
+        Row row = sheet.createRow(1);
+        row.createCell(0).setCellValue("1904");
+        row.createCell(1).setCellValue(time);
+        row.getCell(1).setCellStyle(dateStyle);
+        File file = RoundTrips.save(workbook, this.dir.resolve("records.xls"));
+
+        List<Record> expected = Collections.singletonList(record("1904", time, null, null, null));
+        assertEquals(expected, RoundTrips.read(file, UserRecord.class));
+        assertEquals(expected, RoundTrips.read(file, EventRecord.class));
+    }
+
+    private static Record record(String text, Date date, Double amount, Integer count, Boolean flag) {
+        Record record = new Record();
+        record.setText(text);
+        record.setDate(date);
+        record.setAmount(amount);
+        record.setCount(count);
+        record.setFlag(flag);
+        return record;
+    }
+}
@@ -0,0 +1,172 @@
+package cn.gjing.excel.executor.read.event;
+
+import cn.gjing.excel.base.annotation.Excel;
+import cn.gjing.excel.base.annotation.ExcelField;
+import cn.gjing.excel.base.meta.ExcelType;
+import cn.gjing.excel.base.meta.ReadEngine;
+import cn.gjing.excel.base.meta.WRMode;
+import cn.gjing.excel.executor.ExcelFactory;
+import cn.gjing.excel.executor.RoundTrips;
+import cn.gjing.excel.executor.RoundTrips.Record;
+import lombok.Data;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFFont;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The rows of xlsx files read by the event model must equal the rows read by the user model
+ *
+ * @author Gjing
+ **/
+class XlsxEventReaderTest {
+    @TempDir
+    Path dir;
+
+    @Excel(value = "records", type = ExcelType.XLSX)
+    public static class UserRecord extends Record {
+    }
+
+    @Excel(value = "records", type = ExcelType.XLSX, readEngine = ReadEngine.EVENT_MODEL)
+    public static class EventRecord extends Record {
+    }
+
+    @Data
+    public static class Sparse {
+        @ExcelField(value = "B", index = 1)
+        private String b;
+
+        @ExcelField(value = "E", index = 4)
+        private Double e;
+    }
+
+    @Excel(value = "sparse", type = ExcelType.XLSX)
+    public static class UserSparse extends Sparse {
+    }
+
+    @Excel(value = "sparse", type = ExcelType.XLSX, readEngine = ReadEngine.EVENT_MODEL)
+    public static class EventSparse extends Sparse {
+    }
+
+    @Test
+    void readWrittenRecords() {
+        List<Record> records = RoundTrips.records(500);
+        File file = RoundTrips.write(this.dir, UserRecord.class, records);
+        assertEquals(records, RoundTrips.read(file, UserRecord.class));
+        assertEquals(records, RoundTrips.read(file, EventRecord.class));
+    }
+
+    @Test
+    void readSharedRichAndFormulaStrings() throws Exception {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        Sheet sheet = RoundTrips.createSheet(workbook, "Text", "Date", "Amount", "Count", "Flag");
+        CellStyle builtinDate = workbook.createCellStyle();
+        builtinDate.setDataFormat((short) 14);
+        CellStyle customDate = workbook.createCellStyle();
+        customDate.setDataFormat(workbook.createDataFormat().getFormat("yyyy/mm/dd hh:mm:ss"));
+        XSSFRichTextString rich = new XSSFRichTextString("rich bold text");
+        XSSFFont bold = workbook.createFont();
+        bold.setBold(true);
+        rich.applyFont(5, 9, bold);
+        Date day = new Date(1685577600000L - TimeZone.getDefault().getOffset(1685577600000L));
+        Date time = new Date(1685608200000L);
+
+        Row row = sheet.createRow(1);
+        row.createCell(0).setCellValue("same");
+        row.createCell(1).setCellValue(day);
+        row.getCell(1).setCellStyle(builtinDate);
+        row.createCell(2).setCellValue(-0.5);
+        row.createCell(3).setCellFormula("2*21");
+        row.createCell(4).setCellValue(true);
+        row = sheet.createRow(2);
+        row.createCell(0).setCellValue("same");
+        row.createCell(1).setCellValue(time);
+        row.getCell(1).setCellStyle(customDate);
+        row.createCell(4).setCellFormula("1>2");
+        sheet.createRow(3).createCell(0).setCellValue(rich);
+        sheet.createRow(4).createCell(0).setCellFormula("\"for\"&\"mula\"");
+        sheet.createRow(5).createCell(0).setCellValue("  line1\nline2 ");
+        workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+        File file = RoundTrips.save(workbook, this.dir.resolve("records.xlsx"));
+
+        List<Record> expected = Arrays.asList(
+                record("same", day, -0.5, 42, true),
+                record("same", time, null, null, false),
+                record("rich bold text", null, null, null, null),
+                record("formula", null, null, null, null),
+                record("  line1\nline2 ", null, null, null, null));
+        assertEquals(expected, RoundTrips.read(file, UserRecord.class));
+        assertEquals(expected, RoundTrips.read(file, EventRecord.class));
+    }
+
+    @Test
+    void readDatesOf1904Epoch() throws Exception {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        workbook.getCTWorkbook().getWorkbookPr().setDate1904(true);
+        Sheet sheet = RoundTrips.createSheet(workbook, "Text", "Date");
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+        Date time = new Date(1685608200000L);
+        Row row = sheet.createRow(1);
+        row.createCell(0).setCellValue("1904");
+        row.createCell(1).setCellValue(time);
+        row.getCell(1).setCellStyle(dateStyle);
+        File file = RoundTrips.save(workbook, this.dir.resolve("records.xlsx"));
+
+        List<Record> expected = Arrays.asList(record("1904", time, null, null, null));
+        assertEquals(expected, RoundTrips.read(file, UserRecord.class));
+        assertEquals(expected, RoundTrips.read(file, EventRecord.class));
+    }
+
+    @Test
+    void skipUnmappedColumns() throws Exception {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        Sheet sheet = RoundTrips.createSheet(workbook, "A", "B", "C", "D", "E", "F");
+        for (int i = 1; i <= 50; i++) {
+            Row row = sheet.createRow(i);
+            row.createCell(0).setCellValue(i);
+            if (i % 10 != 0) {
+                row.createCell(1).setCellValue("b-" + i);
+            }
+            row.createCell(2).setCellErrorValue(FormulaError.DIV0.getCode());
+            row.createCell(3).setCellValue("d-" + i);
+            if (i % 7 != 0) {
+                row.createCell(4).setCellValue(i / 4.0);
+            }
+            row.createCell(5).setCellFormula("A" + (i + 1) + "*2");
+        }
+        workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+        File file = RoundTrips.save(workbook, this.dir.resolve("sparse.xlsx"));
+
+        List<UserSparse> user = RoundTrips.read(ExcelFactory.createReader(file, UserSparse.class).mode(WRMode.INDEX));
+        List<EventSparse> event = RoundTrips.read(ExcelFactory.createReader(file, EventSparse.class).mode(WRMode.INDEX));
+        assertEquals(50, user.size());
+        assertEquals("b-1", user.get(0).getB());
+        assertEquals(0.25, user.get(0).getE());
+        assertEquals(user, event);
+    }
+
+    private static Record record(String text, Date date, Double amount, Integer count, Boolean flag) {
+        Record record = new Record();
+        record.setText(text);
+        record.setDate(date);
+        record.setAmount(amount);
+        record.setCount(count);
+        record.setFlag(flag);
+        return record;
+    }
+}
@@ -0,0 +1,100 @@
+package cn.gjing.excel.executor.write.stream;
+
+import cn.gjing.excel.base.annotation.Excel;
+import cn.gjing.excel.base.exception.ExcelException;
+import cn.gjing.excel.base.meta.ExcelType;
+import cn.gjing.excel.base.meta.ReadEngine;
+import cn.gjing.excel.base.meta.WriteEngine;
+import cn.gjing.excel.executor.ExcelFactory;
+import cn.gjing.excel.executor.RoundTrips;
+import cn.gjing.excel.executor.RoundTrips.Record;
+import cn.gjing.excel.executor.write.ExcelBindWriter;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The files written into the response by the direct write engine must be valid workbooks
+ *
+ * @author Gjing
+ **/
+class DirectXlsxWorkbookTest {
+    @TempDir
+    Path dir;
+
+    @Excel(value = "records", type = ExcelType.XLSX, writeEngine = WriteEngine.DIRECT, windowSize = 10)
+    public static class DirectRecord extends Record {
+    }
+
+    @Excel(value = "records", type = ExcelType.XLSX)
+    public static class UserRecord extends Record {
+    }
+
+    @Excel(value = "records", type = ExcelType.XLSX, readEngine = ReadEngine.EVENT_MODEL)
+    public static class EventRecord extends Record {
+    }
+
+    @Test
+    void streamRowsIntoResponse() throws Exception {
+        List<Record> records = RoundTrips.records(1000);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ExcelBindWriter writer = ExcelFactory.createWriter(DirectRecord.class, response(body)).write(records);
+        assertTrue(body.size() > 0, "The rows leaving the window must be written before flushing");
+        writer.write(records.subList(0, 20), "Second").flush();
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(body.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Sheet1");
+            assertEquals(records.size(), sheet.getLastRowNum());
+            assertEquals("Text", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals(20, workbook.getSheet("Second").getLastRowNum());
+        }
+        assertEquals(records, RoundTrips.read(body.toByteArray(), UserRecord.class, ExcelType.XLSX));
+        assertEquals(records, RoundTrips.read(body.toByteArray(), EventRecord.class, ExcelType.XLSX));
+    }
+
+    @Test
+    void rejectFlushToLocalAfterStreaming() {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ExcelBindWriter writer = ExcelFactory.createWriter(DirectRecord.class, response(body)).write(RoundTrips.records(100));
+        assertThrows(ExcelException.class, () -> writer.flushToLocal(this.dir.toString()));
+        assertEquals(0, this.dir.toFile().list().length);
+    }
+
+    @Test
+    void flushRowsInWindowToLocal() {
+        List<Record> records = RoundTrips.records(5);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ExcelFactory.createWriter(DirectRecord.class, response(body)).write(records).flushToLocal(this.dir.toString());
+        assertEquals(0, body.size());
+        assertEquals(records, RoundTrips.read(this.dir.resolve("records.xlsx").toFile(), UserRecord.class));
+    }
+
+    private static HttpServletResponse response(ByteArrayOutputStream body) {
+        ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                body.write(b, off, len);
+            }
+        };
+        return (HttpServletResponse) Proxy.newProxyInstance(DirectXlsxWorkbookTest.class.getClassLoader(), new Class<?>[]{HttpServletResponse.class},
+                (proxy, method, args) -> "getOutputStream".equals(method.getName()) ? outputStream : null);
+    }
+}
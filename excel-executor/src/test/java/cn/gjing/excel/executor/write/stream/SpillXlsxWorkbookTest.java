@@ -0,0 +1,88 @@
+package cn.gjing.excel.executor.write.stream;
+
+import cn.gjing.excel.base.SpillOptions;
+import cn.gjing.excel.base.meta.ExcelType;
+import cn.gjing.excel.executor.ExcelFactory;
+import cn.gjing.excel.executor.RoundTrips;
+import cn.gjing.excel.executor.RoundTrips.Record;
+import cn.gjing.excel.executor.write.ExcelSimpleWriter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The rows of a sheet kept in memory must be moved into a temporary file once the sheet outgrows the memory threshold
+ *
+ * @author Gjing
+ **/
+class SpillXlsxWorkbookTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void spillAppendedRowsPastThreshold() throws Exception {
+        Path spillDir = Files.createDirectories(this.dir.resolve("spill"));
+        Path outDir = Files.createDirectories(this.dir.resolve("out"));
+        ExcelSimpleWriter writer = ExcelFactory.createSimpleWriter("records", null, ExcelType.XLSX, 10,
+                new SpillOptions(false, spillDir.toString(), 100)).head("Text", "Date", "Amount", "Count", "Flag");
+        writer.write(RoundTrips.records(10), "Sheet1", false);
+        assertEquals(0, spillDir.toFile().list().length);
+        for (int page = 0; page < 20; page++) {
+            writer.write(RoundTrips.records(50), "Sheet1", false);
+        }
+        assertEquals(1, spillDir.toFile().list().length);
+        writer.flushToLocal(outDir.toString());
+        assertEquals(0, spillDir.toFile().list().length);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(outDir.resolve("records.xlsx").toFile())) {
+            Sheet sheet = workbook.getSheet("Sheet1");
+            assertEquals(1009, sheet.getLastRowNum());
+            assertEquals(RoundTrips.records(50).get(48).getText(), sheet.getRow(1008).getCell(0).getStringCellValue());
+        }
+    }
+
+    @Test
+    void spillCompressedRowsOfWorkbook() throws Exception {
+        List<Record> records = RoundTrips.records(300);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SpillXlsxWorkbook workbook = new SpillXlsxWorkbook(10, new SpillOptions(true, this.dir.toString(), 100), () -> 10);
+        try {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            for (int i = 0; i < records.size(); i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("row " + i);
+                if (i == 100) {
+                    assertEquals(0, this.dir.toFile().list().length);
+                }
+            }
+            File[] files = this.dir.toFile().listFiles();
+            assertEquals(1, files.length);
+            assertTrue(files[0].getName().endsWith(".gz"));
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+        assertEquals(0, this.dir.toFile().list().length);
+
+        try (XSSFWorkbook written = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = written.getSheet("Sheet1");
+            assertEquals(records.size() - 1, sheet.getLastRowNum());
+            for (int i = 0; i < records.size(); i++) {
+                assertEquals("row " + i, sheet.getRow(i).getCell(0).getStringCellValue());
+            }
+        }
+    }
+}
@@ -8,9 +8,11 @@ import cn.gjing.excel.base.context.ExcelWriterContext;
 import cn.gjing.excel.base.listener.write.ExcelSheetWriteListener;
 import cn.gjing.excel.base.listener.write.ExcelStyleWriteListener;
 import cn.gjing.excel.base.meta.ExcelColor;
+import cn.gjing.excel.style.util.ColumnStyleCache;
 import cn.gjing.excel.style.util.StyleUtils;
 import org.apache.poi.ss.usermodel.*;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -31,24 +33,29 @@ public final class AdaptExcelStyleListener implements ExcelStyleWriteListener, E
      */
     private final Map<Integer, CellStyle> titleStyles;
     /**
-     * Header style cache, key is a string of font and background color combination
+     * Header styles of each column, index is the header level
      */
-    private final Map<String, CellStyle> headStyles;
+    private ColumnStyleCache[] headStyles = new ColumnStyleCache[0];
     /**
-     * Body style cache, key in cell format
+     * Body styles of each column
      */
-    private final Map<String, CellStyle> bodyStyles;
+    private final ColumnStyleCache bodyStyles;
 
     public AdaptExcelStyleListener() {
-        this.headStyles = new HashMap<>(16);
-        this.bodyStyles = new HashMap<>(16);
+        this.bodyStyles = new ColumnStyleCache();
         this.titleStyles = new HashMap<>(8);
     }
 
+    /**
+     * Create an adapt style listener with the capacities of the style caches
+     *
+     * @param headStyleCacheCapacity  Not used, the header styles are shared through the style registry of the writer context
+     * @param bodyStyleCacheCapacity  Initial number of columns of the body style cache
+     * @param titleStyleCacheCapacity Title style cache capacity
+     */
     public AdaptExcelStyleListener(int headStyleCacheCapacity, int bodyStyleCacheCapacity, int titleStyleCacheCapacity) {
         this.titleStyles = new HashMap<>(titleStyleCacheCapacity);
-        this.bodyStyles = new HashMap<>(bodyStyleCacheCapacity);
-        this.headStyles = new HashMap<>(headStyleCacheCapacity);
+        this.bodyStyles = new ColumnStyleCache(bodyStyleCacheCapacity);
     }
 
     @Override
@@ -58,21 +65,9 @@ public final class AdaptExcelStyleListener implements ExcelStyleWriteListener, E
 
     @Override
     public void setTitleStyle(BigTitle bigTitle, Cell cell) {
-        CellStyle titleStyle = titleStyles.get(bigTitle.getStyleIndex());
+        CellStyle titleStyle = this.titleStyles.get(bigTitle.getStyleIndex());
         if (titleStyle == null) {
-            titleStyle = this.writerContext.getWorkbook().createCellStyle();
-            if (bigTitle.getColor() != ExcelColor.NONE) {
-                titleStyle.setFillForegroundColor(bigTitle.getColor().index);
-                titleStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-            }
-            titleStyle.setAlignment(bigTitle.getAlignment());
-            titleStyle.setWrapText(true);
-            Font font = this.writerContext.getWorkbook().createFont();
-            font.setColor(bigTitle.getFontColor().index);
-            font.setBold(bigTitle.isBold());
-            font.setFontHeight(bigTitle.getFontHeight());
-            titleStyle.setVerticalAlignment(VerticalAlignment.CENTER);
-            titleStyle.setFont(font);
+            titleStyle = StyleUtils.createTitleStyle(bigTitle, this.writerContext);
             this.titleStyles.put(bigTitle.getStyleIndex(), titleStyle);
         }
         cell.setCellStyle(titleStyle);
@@ -80,33 +75,39 @@ public final class AdaptExcelStyleListener implements ExcelStyleWriteListener, E
 
     @Override
     public void setHeadStyle(Row row, Cell cell, ExcelFieldProperty property, int dataIndex) {
+        int columnIndex = cell.getColumnIndex();
         if (dataIndex == 0) {
-            int columnIndex = cell.getColumnIndex();
             StyleUtils.setColumnWidth(property, columnIndex, this.writerContext);
-            this.writerContext.getSheet().setDefaultColumnStyle(columnIndex, StyleUtils.createCacheStyle(property, this.bodyStyles, this.writerContext));
+            CellStyle bodyStyle = StyleUtils.createBodyStyle(property, this.writerContext);
+            this.bodyStyles.put(columnIndex, property, bodyStyle);
+            this.writerContext.getSheet().setDefaultColumnStyle(columnIndex, bodyStyle);
+        }
+        if (dataIndex >= this.headStyles.length) {
+            this.headStyles = Arrays.copyOf(this.headStyles, dataIndex + 1);
         }
-        int colorLen = property.getColor().length;
-        int fontColorLen = property.getFontColor().length;
-        ExcelColor backgroundColor = property.getColor()[dataIndex < colorLen ? dataIndex : colorLen - 1];
-        ExcelColor fontColor = property.getFontColor()[dataIndex < fontColorLen ? dataIndex : fontColorLen - 1];
-        String key = backgroundColor.index + "|" + fontColor.index;
-        CellStyle cellStyle = this.headStyles.get(key);
+        if (this.headStyles[dataIndex] == null) {
+            this.headStyles[dataIndex] = new ColumnStyleCache();
+        }
+        CellStyle cellStyle = this.headStyles[dataIndex].get(columnIndex, property);
         if (cellStyle == null) {
-            cellStyle = this.writerContext.getWorkbook().createCellStyle();
-            cellStyle.setFillForegroundColor(backgroundColor.index);
-            cellStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-            Font font = this.writerContext.getWorkbook().createFont();
-            font.setColor(fontColor.index);
-            cellStyle.setFont(font);
-            StyleUtils.setBorder(cellStyle, ExcelColor.GREY_40_PERCENT);
-            StyleUtils.setAlignment(cellStyle);
-            this.headStyles.put(key, cellStyle);
+            int colorLen = property.getColor().length;
+            int fontColorLen = property.getFontColor().length;
+            ExcelColor backgroundColor = property.getColor()[dataIndex < colorLen ? dataIndex : colorLen - 1];
+            ExcelColor fontColor = property.getFontColor()[dataIndex < fontColorLen ? dataIndex : fontColorLen - 1];
+            cellStyle = StyleUtils.createHeadStyle(backgroundColor, fontColor, ExcelColor.GREY_40_PERCENT, this.writerContext);
+            this.headStyles[dataIndex].put(columnIndex, property, cellStyle);
         }
         cell.setCellStyle(cellStyle);
     }
 
     @Override
     public void setBodyStyle(Row row, Cell cell, ExcelFieldProperty property, int dataIndex) {
-        cell.setCellStyle(StyleUtils.createCacheStyle(property, this.bodyStyles, this.writerContext));
+        int columnIndex = cell.getColumnIndex();
+        CellStyle bodyStyle = this.bodyStyles.get(columnIndex, property);
+        if (bodyStyle == null) {
+            bodyStyle = StyleUtils.createBodyStyle(property, this.writerContext);
+            this.bodyStyles.put(columnIndex, property, bodyStyle);
+        }
+        cell.setCellStyle(bodyStyle);
     }
 }
@@ -1,21 +1,38 @@
 package cn.gjing.excel.style;
 
+import cn.gjing.excel.base.ExcelFieldProperty;
 import cn.gjing.excel.base.aware.ExcelWriteContextAware;
 import cn.gjing.excel.base.context.ExcelWriterContext;
+import cn.gjing.excel.base.listener.write.ExcelCellWriteListener;
 import cn.gjing.excel.base.listener.write.ExcelRowWriteListener;
 import cn.gjing.excel.base.meta.RowType;
+import cn.gjing.excel.base.meta.WRMode;
 import cn.gjing.excel.base.util.ExcelUtils;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Excel header merge listener.
  * when adjacent cells have the same content, they are automatically merged.
+ * the written header names are collected while the header cells are completed, so the names replaced by
+ * other cell listeners are merged as they are written, and the merged regions are computed in a single pass
+ * when the last header row is completed
  *
  * @author Gjing
  **/
-public class ExcelHeaderMergeListener implements ExcelRowWriteListener, ExcelWriteContextAware {
+public class ExcelHeaderMergeListener implements ExcelCellWriteListener, ExcelRowWriteListener, ExcelWriteContextAware {
+    /**
+     * Header names of the sheets whose header is being written, the first index is the column index
+     */
+    private final Map<Sheet, String[][]> headers = new IdentityHashMap<>(4);
+
     private ExcelWriterContext writerContext;
 
     public ExcelHeaderMergeListener() {
@@ -26,69 +43,111 @@ public class ExcelHeaderMergeListener implements ExcelRowWriteListener, ExcelWri
         this.writerContext = writerContext;
     }
 
+    @Override
+    public void createBefore(Sheet sheet, int index, RowType rowType) {
+        if (rowType == RowType.HEAD && index == 0) {
+            this.headers.put(sheet, new String[this.getColNums()][]);
+        }
+    }
+
+    @Override
+    public void completeCell(Sheet sheet, Row row, Cell cell, ExcelFieldProperty property, int index, RowType rowType) {
+        if (rowType != RowType.HEAD) {
+            return;
+        }
+        String[][] headers = this.headers.get(sheet);
+        if (headers == null) {
+            return;
+        }
+        int col = cell.getColumnIndex();
+        if (col >= headers.length) {
+            headers = Arrays.copyOf(headers, col + 1);
+            this.headers.put(sheet, headers);
+        }
+        if (headers[col] == null) {
+            headers[col] = new String[this.writerContext.getHeaderSeries()];
+        }
+        headers[col][index] = cell.getCellType() == CellType.STRING ? cell.getStringCellValue() : null;
+    }
+
     @Override
     public void completeRow(Sheet sheet, Row row, Object obj, int index, RowType rowType) {
-        if (rowType == RowType.HEAD) {
-            if (index + 1 == this.writerContext.getHeaderSeries()) {
-                int nextRowIndex;
-                int nextColIndex = 1;
-                int firstCol = 0;
-                int lastCol = 0;
-                int firstRow = row.getRowNum() - this.writerContext.getHeaderSeries() + 1;
-                int lastRow = firstRow;
-                for (int y = firstRow, last = this.writerContext.getHeaderSeries() + firstRow; y < last; y++) {
-                    Row currentRow = sheet.getRow(y);
-                    nextRowIndex = y + 1;
-                    for (int x = 0, colNums = currentRow.getLastCellNum(); x < colNums; x++) {
-                        Cell cell = currentRow.getCell(x);
-                        if (cell == null) {
-                            firstCol = x + 1;
-                            lastCol = firstCol;
-                            nextColIndex++;
-                            continue;
-                        }
-                        while (colNums > nextColIndex) {
-                            Cell cell2 = currentRow.getCell(nextColIndex);
-                            if (cell2 == null) {
-                                x = nextColIndex;
-                                nextColIndex += 2;
-                                break;
-                            }
-                            if (cell.getStringCellValue().equals(cell2.getStringCellValue())) {
-                                lastCol = nextColIndex++;
-                                continue;
-                            }
-                            nextColIndex++;
-                            break;
-                        }
-                        while (last > nextRowIndex) {
-                            Row nextRow = sheet.getRow(nextRowIndex);
-                            Cell nextCell = nextRow.getCell(x);
-                            if (nextCell == null || !cell.getStringCellValue().equals(nextCell.getStringCellValue())) {
-                                break;
-                            }
-                            lastRow++;
-                            nextRowIndex++;
-                        }
-                        if (firstCol != lastCol || firstRow != lastRow) {
-                            ExcelUtils.merge(this.writerContext.getSheet(), firstCol, lastCol, firstRow, lastRow);
-                            x = lastCol;
-                            firstCol = x + 1;
-                            lastCol = firstCol;
-                            lastRow = firstRow;
-                            nextRowIndex = y + 1;
-                        } else {
-                            firstCol = x + 1;
-                            lastCol = firstCol;
-                        }
+        if (rowType == RowType.HEAD && index + 1 == this.writerContext.getHeaderSeries()) {
+            String[][] headers = this.headers.remove(sheet);
+            if (headers != null) {
+                merge(sheet, headers, this.writerContext.getHeaderSeries(), row.getRowNum() - this.writerContext.getHeaderSeries() + 1);
+            }
+        }
+    }
+
+    /**
+     * Get the number of header columns
+     *
+     * @return Number of columns
+     */
+    private int getColNums() {
+        List<ExcelFieldProperty> properties = this.writerContext.getFieldProperties();
+        int colNums = properties.size();
+        if (this.writerContext.getWrMode() == WRMode.INDEX) {
+            for (ExcelFieldProperty property : properties) {
+                colNums = Math.max(colNums, property.getIndex() + 1);
+            }
+        }
+        return colNums;
+    }
+
+    /**
+     * Merge the header cells in a single pass over the header names.
+     * each level is scanned from left to right, a region is extended to the right while the names are equal,
+     * then down while the names of the whole span are equal. cells of a region are skipped by the later levels,
+     * so every header cell is visited a constant number of times
+     *
+     * @param sheet        Current sheet
+     * @param headers      Header names of each column, the columns without a header are null
+     * @param headerSeries Number of header rows
+     * @param firstRow     Index of the first header row
+     */
+    private static void merge(Sheet sheet, String[][] headers, int headerSeries, int firstRow) {
+        int colNums = headers.length;
+        int[] coveredLevels = new int[colNums];
+        for (int level = 0; level < headerSeries; level++) {
+            int x = 0;
+            while (x < colNums) {
+                String name = name(headers, level, x);
+                if (name == null || coveredLevels[x] > level) {
+                    x++;
+                    continue;
+                }
+                int lastCol = x;
+                while (lastCol + 1 < colNums && coveredLevels[lastCol + 1] <= level && name.equals(name(headers, level, lastCol + 1))) {
+                    lastCol++;
+                }
+                int lastRow = level;
+                while (lastRow + 1 < headerSeries && spanEquals(headers, lastRow + 1, x, lastCol, name)) {
+                    lastRow++;
+                }
+                if (lastCol > x || lastRow > level) {
+                    ExcelUtils.merge(sheet, x, lastCol, firstRow + level, firstRow + lastRow);
+                    for (int col = x; col <= lastCol; col++) {
+                        coveredLevels[col] = lastRow + 1;
                     }
-                    firstCol = 0;
-                    lastCol = 0;
-                    firstRow++;
-                    lastRow = firstRow;
-                    nextColIndex = 1;
                 }
+                x = lastCol + 1;
+            }
+        }
+    }
+
+    private static String name(String[][] headers, int level, int col) {
+        String[] names = headers[col];
+        return names == null || level >= names.length ? null : names[level];
+    }
+
+    private static boolean spanEquals(String[][] headers, int level, int firstCol, int lastCol, String name) {
+        for (int col = firstCol; col <= lastCol; col++) {
+            if (!name.equals(name(headers, level, col))) {
+                return false;
             }
         }
+        return true;
     }
 }
@@ -8,6 +8,7 @@ import cn.gjing.excel.base.context.ExcelWriterContext;
 import cn.gjing.excel.base.listener.write.ExcelSheetWriteListener;
 import cn.gjing.excel.base.listener.write.ExcelStyleWriteListener;
 import cn.gjing.excel.base.meta.ExcelColor;
+import cn.gjing.excel.style.util.ColumnStyleCache;
 import cn.gjing.excel.style.util.StyleUtils;
 import org.apache.poi.ss.usermodel.*;
 
@@ -28,47 +29,29 @@ public final class GrayColorExcelStyleListener implements ExcelStyleWriteListene
     private ExcelWriterContext writerContext;
     private final Map<Integer, CellStyle> titleStyles;
     private CellStyle headStyle;
-    private final Map<String, CellStyle> bodyStyles;
+    private final ColumnStyleCache bodyStyles;
 
     public GrayColorExcelStyleListener() {
         this.titleStyles = new HashMap<>(8);
-        this.bodyStyles = new HashMap<>(16);
+        this.bodyStyles = new ColumnStyleCache();
     }
 
     public GrayColorExcelStyleListener(int bodyStyleCacheCapacity, int titleStyleCacheCapacity) {
         this.titleStyles = new HashMap<>(titleStyleCacheCapacity);
-        this.bodyStyles = new HashMap<>(bodyStyleCacheCapacity);
+        this.bodyStyles = new ColumnStyleCache(bodyStyleCacheCapacity);
     }
 
     @Override
     public void setContext(ExcelWriterContext writerContext) {
         this.writerContext = writerContext;
-        this.headStyle = writerContext.getWorkbook().createCellStyle();
-        this.headStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        this.headStyle.setFillForegroundColor(ExcelColor.GREY_25_PERCENT.index);
-        Font font = writerContext.getWorkbook().createFont();
-        this.headStyle.setFont(font);
-        StyleUtils.setAlignment(this.headStyle);
-        StyleUtils.setBorder(this.headStyle, ExcelColor.GREY_40_PERCENT);
+        this.headStyle = StyleUtils.createHeadStyle(ExcelColor.GREY_25_PERCENT, null, ExcelColor.GREY_40_PERCENT, writerContext);
     }
 
     @Override
     public void setTitleStyle(BigTitle bigTitle, Cell cell) {
-        CellStyle titleStyle = titleStyles.get(bigTitle.getStyleIndex());
+        CellStyle titleStyle = this.titleStyles.get(bigTitle.getStyleIndex());
         if (titleStyle == null) {
-            titleStyle = this.writerContext.getWorkbook().createCellStyle();
-            if (bigTitle.getColor() != ExcelColor.NONE) {
-                titleStyle.setFillForegroundColor(bigTitle.getColor().index);
-                titleStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-            }
-            titleStyle.setAlignment(bigTitle.getAlignment());
-            titleStyle.setWrapText(true);
-            Font font = this.writerContext.getWorkbook().createFont();
-            font.setColor(bigTitle.getFontColor().index);
-            font.setBold(bigTitle.isBold());
-            font.setFontHeight(bigTitle.getFontHeight());
-            titleStyle.setVerticalAlignment(VerticalAlignment.CENTER);
-            titleStyle.setFont(font);
+            titleStyle = StyleUtils.createTitleStyle(bigTitle, this.writerContext);
             this.titleStyles.put(bigTitle.getStyleIndex(), titleStyle);
         }
         cell.setCellStyle(titleStyle);
@@ -79,13 +62,21 @@ public final class GrayColorExcelStyleListener implements ExcelStyleWriteListene
         if (dataIndex == 0) {
             int columnIndex = cell.getColumnIndex();
             StyleUtils.setColumnWidth(property, columnIndex, this.writerContext);
-            this.writerContext.getSheet().setDefaultColumnStyle(columnIndex, StyleUtils.createCacheStyle(property, this.bodyStyles, this.writerContext));
+            CellStyle bodyStyle = StyleUtils.createBodyStyle(property, this.writerContext);
+            this.bodyStyles.put(columnIndex, property, bodyStyle);
+            this.writerContext.getSheet().setDefaultColumnStyle(columnIndex, bodyStyle);
         }
         cell.setCellStyle(this.headStyle);
     }
 
     @Override
     public void setBodyStyle(Row row, Cell cell, ExcelFieldProperty property, int dataIndex) {
-        cell.setCellStyle(StyleUtils.createCacheStyle(property, this.bodyStyles, this.writerContext));
+        int columnIndex = cell.getColumnIndex();
+        CellStyle bodyStyle = this.bodyStyles.get(columnIndex, property);
+        if (bodyStyle == null) {
+            bodyStyle = StyleUtils.createBodyStyle(property, this.writerContext);
+            this.bodyStyles.put(columnIndex, property, bodyStyle);
+        }
+        cell.setCellStyle(bodyStyle);
     }
 }
@@ -0,0 +1,58 @@
+package cn.gjing.excel.style.util;
+
+import cn.gjing.excel.base.ExcelFieldProperty;
+import org.apache.poi.ss.usermodel.CellStyle;
+
+import java.util.Arrays;
+
+/**
+ * Cell styles resolved for each column, looked up by the column index.
+ * a style is bound to the field property it was resolved for, so the style of a column is resolved again
+ * when another field is written to the column, such as another sheet written with different headers
+ *
+ * @author Gjing
+ **/
+public final class ColumnStyleCache {
+    private CellStyle[] styles;
+    private ExcelFieldProperty[] properties;
+
+    public ColumnStyleCache() {
+        this(16);
+    }
+
+    public ColumnStyleCache(int columnCapacity) {
+        this.styles = new CellStyle[Math.max(columnCapacity, 1)];
+        this.properties = new ExcelFieldProperty[this.styles.length];
+    }
+
+    /**
+     * Get the style of the column
+     *
+     * @param columnIndex Column index
+     * @param property    Field property of the column
+     * @return CellStyle, null if it is not resolved for the field property
+     */
+    public CellStyle get(int columnIndex, ExcelFieldProperty property) {
+        if (columnIndex < this.styles.length && this.properties[columnIndex] == property) {
+            return this.styles[columnIndex];
+        }
+        return null;
+    }
+
+    /**
+     * Set the style of the column
+     *
+     * @param columnIndex Column index
+     * @param property    Field property of the column
+     * @param cellStyle   Resolved style
+     */
+    public void put(int columnIndex, ExcelFieldProperty property, CellStyle cellStyle) {
+        if (columnIndex >= this.styles.length) {
+            int length = Math.max(columnIndex + 1, this.styles.length << 1);
+            this.styles = Arrays.copyOf(this.styles, length);
+            this.properties = Arrays.copyOf(this.properties, length);
+        }
+        this.styles[columnIndex] = cellStyle;
+        this.properties[columnIndex] = property;
+    }
+}
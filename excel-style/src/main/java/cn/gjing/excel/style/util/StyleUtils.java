@@ -1,6 +1,8 @@
 package cn.gjing.excel.style.util;
 
+import cn.gjing.excel.base.BigTitle;
 import cn.gjing.excel.base.ExcelFieldProperty;
+import cn.gjing.excel.base.ExcelStyleKey;
 import cn.gjing.excel.base.context.ExcelWriterContext;
 import cn.gjing.excel.base.meta.ExcelColor;
 import org.apache.poi.ss.usermodel.BorderStyle;
@@ -55,17 +57,69 @@ public class StyleUtils {
     public static CellStyle createCacheStyle(ExcelFieldProperty property, Map<String, CellStyle> styleMap, ExcelWriterContext context) {
         CellStyle cellStyle = styleMap.get(property.getFormat());
         if (cellStyle == null) {
-            cellStyle = context.getWorkbook().createCellStyle();
-            StyleUtils.setAlignment(cellStyle);
-            if (!property.getFormat().isEmpty()) {
-                cellStyle.setDataFormat(context.getWorkbook().createDataFormat().getFormat(property.getFormat()));
-            }
-            cellStyle.setLocked(false);
+            cellStyle = createBodyStyle(property, context);
             styleMap.put(property.getFormat(), cellStyle);
         }
         return cellStyle;
     }
 
+    /**
+     * Get the body style of the field from the style registry, centered, wrapped, unlocked and
+     * formatted according to {@link ExcelFieldProperty#getFormat()}
+     *
+     * @param property ExcelFieldProperty
+     * @param context  ExcelWriterContext
+     * @return CellStyle
+     */
+    public static CellStyle createBodyStyle(ExcelFieldProperty property, ExcelWriterContext context) {
+        return context.getStyleRegistry().getStyle(ExcelStyleKey.builder()
+                .alignment(HorizontalAlignment.CENTER)
+                .verticalAlignment(VerticalAlignment.CENTER)
+                .wrapText(true)
+                .unlocked(true)
+                .format(property.getFormat())
+                .build());
+    }
+
+    /**
+     * Get the header style from the style registry, centered, wrapped and with thin borders
+     *
+     * @param backgroundColor Background color
+     * @param fontColor       Font color, null is the default font
+     * @param borderColor     Border color
+     * @param context         ExcelWriterContext
+     * @return CellStyle
+     */
+    public static CellStyle createHeadStyle(ExcelColor backgroundColor, ExcelColor fontColor, ExcelColor borderColor, ExcelWriterContext context) {
+        return context.getStyleRegistry().getStyle(ExcelStyleKey.builder()
+                .fillColor(backgroundColor)
+                .fontColor(fontColor)
+                .borderColor(borderColor)
+                .alignment(HorizontalAlignment.CENTER)
+                .verticalAlignment(VerticalAlignment.CENTER)
+                .wrapText(true)
+                .build());
+    }
+
+    /**
+     * Get the big title style from the style registry
+     *
+     * @param bigTitle Big title
+     * @param context  ExcelWriterContext
+     * @return CellStyle
+     */
+    public static CellStyle createTitleStyle(BigTitle bigTitle, ExcelWriterContext context) {
+        return context.getStyleRegistry().getStyle(ExcelStyleKey.builder()
+                .fillColor(bigTitle.getColor())
+                .fontColor(bigTitle.getFontColor())
+                .bold(bigTitle.isBold())
+                .fontHeight(bigTitle.getFontHeight())
+                .alignment(bigTitle.getAlignment())
+                .verticalAlignment(VerticalAlignment.CENTER)
+                .wrapText(true)
+                .build());
+    }
+
     /**
      * Set column width
      *